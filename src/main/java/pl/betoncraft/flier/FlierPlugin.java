@@ -31,14 +31,11 @@ import java.util.UUID;
 
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
 
@@ -58,9 +55,11 @@ import pl.betoncraft.flier.action.WingsHealthAction;
 import pl.betoncraft.flier.action.WingsOffAction;
 import pl.betoncraft.flier.action.attack.Bomb;
 import pl.betoncraft.flier.action.attack.Explosion;
+import pl.betoncraft.flier.action.attack.HitscanGun;
 import pl.betoncraft.flier.action.attack.HomingMissile;
 import pl.betoncraft.flier.action.attack.ParticleGun;
 import pl.betoncraft.flier.action.attack.ProjectileGun;
+import pl.betoncraft.flier.action.attack.ScatterGun;
 import pl.betoncraft.flier.activator.AmmoActivator;
 import pl.betoncraft.flier.activator.BlockStandingActivator;
 import pl.betoncraft.flier.activator.HoldingThisActivator;
@@ -78,7 +77,6 @@ import pl.betoncraft.flier.api.content.Game;
 import pl.betoncraft.flier.api.content.Lobby;
 import pl.betoncraft.flier.api.content.Wings;
 import pl.betoncraft.flier.api.core.Arena;
-import pl.betoncraft.flier.api.core.Attacker;
 import pl.betoncraft.flier.api.core.ConfigManager;
 import pl.betoncraft.flier.api.core.DatabaseManager;
 import pl.betoncraft.flier.api.core.FancyStuffWrapper;
@@ -94,9 +92,12 @@ import pl.betoncraft.flier.bonus.ProximityBonus;
 import pl.betoncraft.flier.bonus.TargetBonus;
 import pl.betoncraft.flier.command.FlierCommand;
 import pl.betoncraft.flier.core.DefaultArena;
-import pl.betoncraft.flier.core.DefaultModification;
 import pl.betoncraft.flier.core.DefaultSet;
 import pl.betoncraft.flier.core.DefaultUsableItem;
+import pl.betoncraft.flier.core.DefinitionRegistry;
+import pl.betoncraft.flier.core.DefinitionRegistry.Definition;
+import pl.betoncraft.flier.core.ItemSetDefinition;
+import pl.betoncraft.flier.core.UsableItemDefinition;
 import pl.betoncraft.flier.effect.GameSoundEffect;
 import pl.betoncraft.flier.effect.GlowingEffect;
 import pl.betoncraft.flier.effect.ParticleEffect;
@@ -108,12 +109,15 @@ import pl.betoncraft.flier.game.TeamDeathMatch;
 import pl.betoncraft.flier.integration.Integrations;
 import pl.betoncraft.flier.lobby.PhysicalLobby;
 import pl.betoncraft.flier.stats.StatisticWriter;
+import pl.betoncraft.flier.util.AttackerRegistry;
 import pl.betoncraft.flier.util.Coordinator;
 import pl.betoncraft.flier.util.DefaultConfigManager;
 import pl.betoncraft.flier.util.DefaultDatabaseManager;
 import pl.betoncraft.flier.util.DefaultFancyStuffWrapper;
+import pl.betoncraft.flier.util.EffectListener;
+import pl.betoncraft.flier.util.Hud;
 import pl.betoncraft.flier.util.LangManager;
-import pl.betoncraft.flier.util.Utils;
+import pl.betoncraft.flier.util.Triggers;
 import pl.betoncraft.flier.wings.SimpleWings;
 
 public class FlierPlugin extends JavaPlugin implements Flier {
@@ -121,6 +125,8 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 	private ConfigManager configManager;
 	private DatabaseManager databaseManager;
 	private FancyStuffWrapper fancyStuff;
+	private AttackerRegistry attackerRegistry;
+	private EffectListener effectListener;
 	private FlierCommand flierCommand;
 	private Listener autoJoin;
 
@@ -133,6 +139,8 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 	private Map<String, ActivatorFactory> activatorTypes = new HashMap<>();
 	private Map<String, EffectFactory> effectTypes = new HashMap<>();
 	
+	private DefinitionRegistry definitions = new DefinitionRegistry(this);
+	
 	private Map<String, Lobby> lobbies = new HashMap<>();
 	private Map<UUID, InGamePlayer> players = new HashMap<>();
 
@@ -156,6 +164,8 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 		registerAction("leave", (s, o) -> new LeaveGameAction(s, o));
 		registerAction("projectileGun", (s, o) -> new ProjectileGun(s, o));
 		registerAction("particleGun", (s, o) -> new ParticleGun(s, o));
+		registerAction("hitscanGun", (s, o) -> new HitscanGun(s, o));
+		registerAction("scatterGun", (s, o) -> new ScatterGun(s, o));
 		registerAction("homingMissile", (s, o) -> new HomingMissile(s, o));
 		registerAction("bomb", (s, o) -> new Bomb(s, o));
 		registerAction("explosion", (s, o) -> new Explosion(s, o));
@@ -185,18 +195,11 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 		registerEffect("particle", s -> new ParticleEffect(s));
 		registerEffect("glow", s -> new GlowingEffect(s));
 		
-		// add projectile cleanup listener
-		Bukkit.getPluginManager().registerEvents(new Listener() {
-			@EventHandler
-			public void onChunkUnload(ChunkUnloadEvent event) {
-				Entity[] entities = event.getChunk().getEntities();
-				for (int i = 0; i < entities.length; i++) {
-					if (entities[i] instanceof Projectile && Attacker.getAttacker((Projectile) entities[i]) != null) {
-						entities[i].remove();
-					}
-				}
-			}
-		}, this);
+		// add projectile registry, it also cleans up unloaded projectiles
+		attackerRegistry = new AttackerRegistry();
+		
+		// a single listener runs effects of all games
+		effectListener = new EffectListener();
 		
 		new Coordinator(); // temporary solution
 		
@@ -219,6 +222,7 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 		for (Lobby lobby : lobbies.values()) {
 			lobby.stop();
 		}
+		effectListener.stop();
 		databaseManager.disconnect();
 	}
 
@@ -229,21 +233,23 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 			reloadConfig();
 			configManager = new DefaultConfigManager();
 			LangManager.reload();
+			Hud.clearCache();
+			// parse all definitions, the registry must be set before loading
+			// because item sets look up modifications through the plugin
+			definitions = new DefinitionRegistry(this);
+			definitions.load(configManager);
 			// stop current lobbies and games
 			for (Lobby lobby : lobbies.values()) {
 				lobby.stop();
 			}
 			lobbies.clear();
 			// load new lobbies and games
-			ConfigurationSection lobbySection = configManager.getLobbies();
-			if (lobbySection != null) {
-				for (String id : lobbySection.getKeys(false)) {
-					String name = "lobby";
-					ConfigurationSection section = lobbySection.getConfigurationSection(id);
-					String type = getType(section);
-					LobbyFactory factory = getLobbyFactory(type);
-					checkFactory(factory, name, type);
-					lobbies.put(id, factory.get(section));
+			for (String id : configManager.getLobbies().getKeys(false)) {
+				Definition<LobbyFactory> definition = definitions.getLobby(id);
+				try {
+					lobbies.put(id, definition.getFactory().get(definition.getSection()));
+				} catch (LoadingException e) {
+					throw DefinitionRegistry.loadingError(e, id, "lobby");
 				}
 			}
 			// unregister the old automatic lobby joining
@@ -313,6 +319,16 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 		return fancyStuff;
 	}
 	
+	@Override
+	public AttackerRegistry getAttackerRegistry() {
+		return attackerRegistry;
+	}
+	
+	@Override
+	public EffectListener getEffectListener() {
+		return effectListener;
+	}
+	
 	@Override
 	public void playerJoinsGame(InGamePlayer player) {
 		players.put(player.getPlayer().getUniqueId(), player);
@@ -335,172 +351,109 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 
 	@Override
 	public Engine getEngine(String id) throws LoadingException {
-		String name = "engine";
-		ConfigurationSection section = getSection(configManager.getEngines(), id, name);
-		String type = getType(section);
-		EngineFactory factory = getEngineFactory(type);
-		checkFactory(factory, name, type);
+		Definition<EngineFactory> definition = definitions.getEngine(id);
 		try {
-			return factory.get(section);
+			return definition.getFactory().get(definition.getSection());
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "engine");
 		}
 	}
 
 	@Override
 	public UsableItem getItem(String id, InGamePlayer player) throws LoadingException {
-		String name = "item";
-		ConfigurationSection section = getSection(configManager.getItems(), id, name);
+		UsableItemDefinition definition = definitions.getItem(id);
 		try {
-			return new DefaultUsableItem(section, player);
+			return new DefaultUsableItem(definition, player);
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "item");
 		}
 	}
 
 	@Override
 	public Wings getWing(String id) throws LoadingException {
-		String name = "wings";
-		ConfigurationSection section = getSection(configManager.getWings(), id, name);
-		String type = getType(section);
-		WingsFactory factory = getWingsFactory(type);
-		checkFactory(factory, name, type);
+		Definition<WingsFactory> definition = definitions.getWings(id);
 		try {
-			return factory.get(section);
+			return definition.getFactory().get(definition.getSection());
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "wings");
 		}
 	}
 	
 	@Override
 	public Game getGame(String id, Lobby lobby) throws LoadingException, NoArenaException {
-		String name = "game";
-		ConfigurationSection section = getSection(configManager.getGames(), id, name);
-		String type = getType(section);
-		GameFactory factory = getGameFactory(type);
-		checkFactory(factory, name, type);
+		Definition<GameFactory> definition = definitions.getGame(id);
 		try {
-			return factory.get(section, lobby);
+			return definition.getFactory().get(definition.getSection(), lobby);
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "game");
 		}
 	}
 	
 	@Override
 	public Action getAction(String id, Optional<Owner> owner) throws LoadingException {
-		String name = "action";
-		ConfigurationSection section = getSection(configManager.getActions(), id, name);
-		String type = getType(section);
-		ActionFactory factory = getActionFactory(type);
-		checkFactory(factory, name, type);
+		Definition<ActionFactory> definition = definitions.getAction(id);
 		try {
-			return factory.get(section, owner);
+			return definition.getFactory().get(definition.getSection(), owner);
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "action");
 		}
 	}
 	
 	@Override
 	public Activator getActivator(String id, Optional<Owner> owner) throws LoadingException {
-		String name = "activator";
-		ConfigurationSection section = getSection(configManager.getActivators(), id, name);
-		String type = getType(section);
-		ActivatorFactory factory = getActivatorFactory(type);
-		checkFactory(factory, name, type);
+		Definition<ActivatorFactory> definition = definitions.getActivator(id);
 		try {
-			return factory.get(section, owner);
+			return definition.getFactory().get(definition.getSection(), owner);
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "activator");
 		}
 	}
 	
 	@Override
 	public Bonus getBonus(String id, Game game, Optional<Owner> owner) throws LoadingException {
-		String name = "bonus";
-		ConfigurationSection section = getSection(configManager.getBonuses(), id, name);
-		String type = getType(section);
-		BonusFactory factory = getBonusFactory(type);
-		checkFactory(factory, name, type);
+		Definition<BonusFactory> definition = definitions.getBonus(id);
 		try {
-			return factory.get(section, game, owner);
+			return definition.getFactory().get(definition.getSection(), game, owner);
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "bonus");
 		}
 	}
 
 	@Override
 	public Modification getModification(String id) throws LoadingException {
-		String name = "modification";
-		ConfigurationSection section = getSection(configManager.getModifications(), id, name);
-		try {
-			return new DefaultModification(section);
-		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
-		}
+		return definitions.getModification(id);
 	}
 	
 	@Override
 	public ItemSet getItemSet(String id, InGamePlayer owner) throws LoadingException {
-		String name = "item set";
-		ConfigurationSection section = getSection(configManager.getItemSets(), id, name);
+		ItemSetDefinition definition = definitions.getItemSet(id);
 		try {
-			return new DefaultSet(section, owner);
+			return new DefaultSet(definition, owner);
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "item set");
 		}
 	}
 	
 	@Override
 	public Effect getEffect(String id) throws LoadingException {
-		String name = "effect";
-		ConfigurationSection section = getSection(configManager.getEffects(), id, name);
-		String type = getType(section);
-		EffectFactory factory = getEffectFactory(type);
-		checkFactory(factory, name, type);
+		Definition<EffectFactory> definition = definitions.getEffect(id);
 		try {
-			return factory.get(section);
+			return definition.getFactory().get(definition.getSection());
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "effect");
 		}
 	}
 
 	@Override
 	public Arena getArena(String id) throws LoadingException {
-		String name = "arena";
-		ConfigurationSection section = getSection(configManager.getArenas(), id, name);
+		ConfigurationSection section = definitions.getArena(id);
 		try {
 			return new DefaultArena(section);
 		} catch (LoadingException e) {
-			throw loadingError(e, id, name);
+			throw DefinitionRegistry.loadingError(e, id, "arena");
 		}
 	}
 	
-	private ConfigurationSection getSection(ConfigurationSection file, String id, String name) throws LoadingException {
-		ConfigurationSection section = file.getConfigurationSection(id);
-		if (section == null || section.getKeys(false).size() == 0) {
-			throw new LoadingException(String.format("%s with ID '%s' does not exist.", Utils.capitalize(name), id));
-		}
-		return section;
-	}
-	
-	private String getType(ConfigurationSection section) throws LoadingException {
-		String type = section.getString("type");
-		if (type == null) {
-			throw new LoadingException("Type is not defined.");
-		}
-		return type;
-	}
-	
-	private void checkFactory(Object object, String name, String type) throws LoadingException {
-		if (object == null) {
-			throw new LoadingException(String.format("%s type '%s' does not exist.", Utils.capitalize(name), type));
-		}
-	}
-	
-	private LoadingException loadingError(LoadingException e, String id, String name) {
-		return (LoadingException) new LoadingException(String.format("Error in '%s' %s.", id, name)).initCause(e);
-	}
-	
 	@Override
 	public EngineFactory getEngineFactory(String name) {
 		return engineTypes.get(name);
@@ -580,5 +533,10 @@ public class FlierPlugin extends JavaPlugin implements Flier {
 	public void registerEffect(String name, EffectFactory factory) {
 		effectTypes.put(name, factory);
 	}
+	
+	@Override
+	public int registerTrigger(String name) {
+		return Triggers.getId(name);
+	}
 
 }
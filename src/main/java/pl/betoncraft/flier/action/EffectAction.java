@@ -28,7 +28,6 @@ import java.util.List;
 import java.util.Optional;
 
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import pl.betoncraft.flier.api.Flier;
 import pl.betoncraft.flier.api.content.Action;
@@ -36,6 +35,8 @@ import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Modification;
 import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.Ticker.Tickable;
 
 /**
  * An action type which adds a specified effect.
@@ -60,18 +61,17 @@ public class EffectAction extends DefaultAction {
 
 	@Override
 	public boolean act(InGamePlayer target, InGamePlayer source) {
-		new BukkitRunnable() {
+		target.getGame().getTicker().register(Phase.ITEMS, new Tickable() {
 			private int i = (int) modMan.modifyNumber(DURATION, EffectAction.this.duration);
 			@Override
-			public void run() {
-				if (i-- == 0) {
-					cancel();
-				}
+			public boolean tick() {
+				boolean last = i-- == 0;
 				for (Action action : actions) {
 					action.act(target, source);
 				}
+				return !last;
 			}
-		}.runTaskTimer(Flier.getInstance(), 0, 1);
+		});
 		return true;
 	}
 
@@ -31,6 +31,7 @@ import pl.betoncraft.flier.api.content.Game.Attitude;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.Target;
 
 /**
  * Targets other players with a compass.
@@ -51,23 +52,12 @@ public class TargetAction extends DefaultAction {
 	@Override
 	public boolean act(InGamePlayer player, InGamePlayer source) {
 		if (player.isPlaying()) {
-			InGamePlayer nearest = null;
-			double distance = Double.MAX_VALUE;
 			Attitude target = modMan.modifyEnum(TARGET, this.target);
-			for (InGamePlayer data : player.getGame().getPlayers().values()) {
-				if (data.equals(player)) {
-					continue;
-				}
-				if (player.getGame().getAttitude(data, player) == target) {
-					double dist = player.getLocation().distanceSquared(data.getLocation());
-					if (dist < distance) {
-						distance = dist;
-						nearest = data;
-					}
-				}
-			}
+			Target nearest = player.getGame().getTargetFinder().nearest(player.getLocation(), Double.MAX_VALUE,
+					data -> data instanceof InGamePlayer && !data.equals(player) &&
+							player.getGame().getAttitude(data, player) == target);
 			if (nearest != null) {
-				player.getPlayer().setCompassTarget(nearest.getPlayer().getLocation());
+				player.getPlayer().setCompassTarget(((InGamePlayer) nearest).getPlayer().getLocation());
 			} else {
 				player.getPlayer().setCompassTarget(player.getGame().getCenter());
 			}
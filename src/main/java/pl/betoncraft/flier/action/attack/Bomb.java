@@ -26,6 +26,10 @@ package pl.betoncraft.flier.action.attack;
 import java.util.Optional;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.TNTPrimed;
@@ -40,10 +44,14 @@ import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
 import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.Ticker.Tickable;
 import pl.betoncraft.flier.core.DefaultAttacker;
+import pl.betoncraft.flier.util.ExplosionKernel;
 
 /**
- * Spawns a TNT which explodes immediately.
+ * Spawns a TNT which explodes after its fuse. By default the explosion is
+ * resolved by Flier, without vanilla explosion mechanics.
  *
  * @author Jakub Sapalski
  */
@@ -51,16 +59,19 @@ public class Bomb extends DefaultAttack {
 
 	private static final String POWER = "power";
 	private static final String FUSE = "fuse";
+	private static final String VANILLA = "vanilla";
 	
 	private static BombListener listener;
 
 	private final float yield;
 	private final int fuse;
+	private final boolean vanilla;
 
 	public Bomb(ConfigurationSection section, Optional<Owner> owner) throws LoadingException {
 		super(section, owner);
 		yield = (float) loader.loadPositiveDouble(POWER);
 		fuse = loader.loadNonNegativeInt(FUSE, 80);
+		vanilla = loader.loadBoolean(VANILLA, false);
 		// register a single listener for all bombs
 		if (listener == null) {
 			listener = new BombListener();
@@ -72,11 +83,41 @@ public class Bomb extends DefaultAttack {
 	public boolean act(InGamePlayer target, InGamePlayer source) {
 		TNTPrimed tnt = (TNTPrimed) target.getPlayer().getWorld().spawnEntity(
 				target.getPlayer().getLocation(), EntityType.PRIMED_TNT);
-		Attacker.saveAttacker(tnt, new DefaultAttacker(this, owner.get().getPlayer(), target, owner.get().getItem()));
+		Attacker attacker = new DefaultAttacker(this, owner.get().getPlayer(), target, owner.get().getItem());
+		Attacker.saveAttacker(tnt, attacker);
 		tnt.setIsIncendiary(false);
 		tnt.setVelocity(target.getPlayer().getVelocity());
-		tnt.setYield((float) modMan.modifyNumber(POWER, yield));
-		tnt.setFuseTicks((int) modMan.modifyNumber(FUSE, fuse));
+		float yield = (float) modMan.modifyNumber(POWER, this.yield);
+		int fuse = (int) modMan.modifyNumber(FUSE, this.fuse);
+		if (modMan.modifyBoolean(VANILLA, vanilla)) {
+			tnt.setYield(yield);
+			tnt.setFuseTicks(fuse);
+			return true;
+		}
+		// the TNT is only a visual, it will be removed before exploding
+		tnt.setYield(0);
+		tnt.setFuseTicks(fuse + 10);
+		target.getGame().getTicker().register(Phase.PROJECTILES, new Tickable() {
+			int left = fuse;
+			@Override
+			public boolean tick() {
+				if (!tnt.isValid()) {
+					return false;
+				}
+				if (left-- > 0) {
+					return true;
+				}
+				Location loc = tnt.getLocation();
+				Attacker.removeAttacker(tnt);
+				tnt.remove();
+				World world = loc.getWorld();
+				world.spawnParticle(yield >= 2 ? Particle.EXPLOSION_HUGE : Particle.EXPLOSION_LARGE, loc, 1);
+				world.playSound(loc, Sound.ENTITY_GENERIC_EXPLODE, 4, 0.7f);
+				// vanilla explosions damage entities up to twice their power
+				ExplosionKernel.explode(target.getGame(), loc, yield * 2, true, attacker);
+				return false;
+			}
+		});
 		return true;
 	}
 	
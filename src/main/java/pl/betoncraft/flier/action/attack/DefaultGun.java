@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.action.attack;
+
+import java.util.Optional;
+import java.util.Random;
+
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
+import pl.betoncraft.flier.util.ModificationManager;
+
+/**
+ * Base for guns which shoot from the player's eyes in a randomly spread
+ * direction and draw their shots with particles.
+ *
+ * @author Jakub Sapalski
+ */
+public abstract class DefaultGun extends DefaultAttack {
+
+	private static final String SPREAD = "spread";
+	private static final String PROXIMITY = "proximity";
+	private static final String RANGE = "range";
+	private static final String PARTICLE = "particle";
+	private static final String AMOUNT = "amount";
+	private static final String OFFSET = "offset";
+	private static final String OFFSET_X = "offset_x";
+	private static final String OFFSET_Y = "offset_y";
+	private static final String OFFSET_Z = "offset_z";
+	private static final String EXTRA = "speed";
+	private static final String DENSITY = "density";
+
+	private static final int SPREAD_ID = ModificationManager.getPropertyId(SPREAD);
+	private static final int PROXIMITY_ID = ModificationManager.getPropertyId(PROXIMITY);
+	private static final int RANGE_ID = ModificationManager.getPropertyId(RANGE);
+
+	private final Random random;
+	private final double spread;
+	private final double proximity;
+	private final double range;
+
+	private final Particle particle;
+	private final int amount;
+	private final double offsetX;
+	private final double offsetY;
+	private final double offsetZ;
+	private final double extra;
+	private final double density;
+
+	public DefaultGun(ConfigurationSection section, Optional<Owner> owner, double defRange) throws LoadingException {
+		super(section, owner);
+		random = new Random();
+		spread = loader.loadNonNegativeDouble(SPREAD, 0.0);
+		proximity = loader.loadPositiveDouble(PROXIMITY, 1.0);
+		range = loader.loadPositiveDouble(RANGE, defRange);
+		// particle settings
+		particle = loader.loadEnum(PARTICLE, Particle.class);
+		amount = loader.loadNonNegativeInt(AMOUNT, 0);
+		double offset = loader.loadNonNegativeDouble(OFFSET, 0.0);
+		offsetX = loader.loadNonNegativeDouble(OFFSET_X, offset);
+		offsetY = loader.loadNonNegativeDouble(OFFSET_Y, offset);
+		offsetZ = loader.loadNonNegativeDouble(OFFSET_Z, offset);
+		extra = loader.loadNonNegativeDouble(EXTRA, 0.0);
+		density = loader.loadPositiveDouble(DENSITY, 0.5);
+	}
+
+	/**
+	 * @return the spread with applied modifications
+	 */
+	protected double getSpread() {
+		return modMan.modifyNumber(SPREAD_ID, spread);
+	}
+
+	/**
+	 * @return the proximity with applied modifications
+	 */
+	protected double getProximity() {
+		return modMan.modifyNumber(PROXIMITY_ID, proximity);
+	}
+
+	/**
+	 * @return the range with applied modifications
+	 */
+	protected double getRange() {
+		return modMan.modifyNumber(RANGE_ID, range);
+	}
+
+	/**
+	 * @return the amount of particles per block in trails
+	 */
+	public double getDensity() {
+		return density;
+	}
+
+	/**
+	 * @return X coordinate of the point where shots start, in front of the
+	 *         player's eyes or the body when gliding
+	 */
+	protected static double startX(PlayerSnapshot snapshot) {
+		return (snapshot.isGliding() ? snapshot.getX() : snapshot.getEyeX()) + snapshot.getVelX() + snapshot.getDirX();
+	}
+
+	/**
+	 * @return Y coordinate of the point where shots start
+	 */
+	protected static double startY(PlayerSnapshot snapshot) {
+		return (snapshot.isGliding() ? snapshot.getY() : snapshot.getEyeY()) + snapshot.getVelY() + snapshot.getDirY();
+	}
+
+	/**
+	 * @return Z coordinate of the point where shots start
+	 */
+	protected static double startZ(PlayerSnapshot snapshot) {
+		return (snapshot.isGliding() ? snapshot.getZ() : snapshot.getEyeZ()) + snapshot.getVelZ() + snapshot.getDirZ();
+	}
+
+	/**
+	 * Randomly spreads the direction and writes the normalized result into
+	 * three consecutive elements of the array.
+	 * 
+	 * @param x
+	 *            X component of the direction
+	 * @param y
+	 *            Y component of the direction
+	 * @param z
+	 *            Z component of the direction
+	 * @param spread
+	 *            how far the direction can deviate, 0 means not at all
+	 * @param out
+	 *            array for the result
+	 * @param index
+	 *            index of the X component in the array
+	 */
+	protected void spread(double x, double y, double z, double spread, double[] out, int index) {
+		if (spread > 0) {
+			double px = random.nextGaussian();
+			double py = random.nextGaussian();
+			double pz = random.nextGaussian();
+			double mult = spread / Math.sqrt(px * px + py * py + pz * pz);
+			x += px * mult;
+			y += py * mult;
+			z += pz * mult;
+			double length = Math.sqrt(x * x + y * y + z * z);
+			x /= length;
+			y /= length;
+			z /= length;
+		}
+		out[index] = x;
+		out[index + 1] = y;
+		out[index + 2] = z;
+	}
+
+	/**
+	 * Draws a particle tracer of the shot, skipping the starting point.
+	 * 
+	 * @param max
+	 *            maximum amount of trail points
+	 */
+	protected void drawTracer(World world, double startX, double startY, double startZ,
+			double x, double y, double z, double length, int max) {
+		int steps = Math.min(max, (int) (length * density));
+		double step = steps == 0 ? 0 : length / steps;
+		for (int i = 1; i <= steps; i++) {
+			spawnTrail(world, startX + x * step * i, startY + y * step * i, startZ + z * step * i);
+		}
+	}
+
+	/**
+	 * Spawns a single point of the trail.
+	 */
+	public void spawnTrail(World world, double x, double y, double z) {
+		world.spawnParticle(particle, x, y, z, amount, offsetX, offsetY, offsetZ, extra);
+	}
+
+	/**
+	 * Spawns the particles where the shot ended.
+	 */
+	public void spawnImpact(World world, double x, double y, double z) {
+		world.spawnParticle(particle, x, y, z, 100, 0, 0, 0, 0.25);
+	}
+
+}
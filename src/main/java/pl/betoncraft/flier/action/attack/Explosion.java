@@ -31,6 +31,7 @@ import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
 import pl.betoncraft.flier.core.DefaultAttacker;
+import pl.betoncraft.flier.util.ExplosionKernel;
 
 /**
  * Creates an explosion around the target. All players caught in the explosion's radius will be affected.
@@ -40,21 +41,23 @@ import pl.betoncraft.flier.core.DefaultAttacker;
 public class Explosion extends DefaultAttack {
 	
 	private final static String RADIUS = "radius";
+	private final static String LINE_OF_SIGHT = "line_of_sight";
 	
 	private final double radius;
+	private final boolean lineOfSight;
 
 	public Explosion(ConfigurationSection section, Optional<Owner> owner) throws LoadingException {
 		super(section, owner);
 		radius = loader.loadPositiveDouble(RADIUS);
+		lineOfSight = loader.loadBoolean(LINE_OF_SIGHT, false);
 	}
 
 	@Override
 	public boolean act(InGamePlayer target, InGamePlayer source) {
-		System.out.println("Exploding at " + target.getName() + " location");
 		double radius = modMan.modifyNumber(RADIUS, this.radius);
-		target.getGame().getTargets().values().stream()
-				.filter(t -> t.getLocation().distanceSquared(target.getLocation()) <= radius*radius)
-				.forEach(t -> t.handleHit(new DefaultAttacker(this, owner.get().getPlayer(), target, owner.get().getItem())));
+		boolean lineOfSight = modMan.modifyBoolean(LINE_OF_SIGHT, this.lineOfSight);
+		ExplosionKernel.explode(target.getGame(), target.getLocation(), radius, lineOfSight,
+				new DefaultAttacker(this, owner.get().getPlayer(), target, owner.get().getItem()));
 		return true;
 	}
 
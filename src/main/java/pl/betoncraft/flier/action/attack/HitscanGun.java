@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.action.attack;
+
+import java.util.Optional;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
+import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.core.DefaultAttacker;
+import pl.betoncraft.flier.event.FlierProjectileLaunchEvent;
+
+/**
+ * Shooting weapon which hits instantly, with a particle tracer showing the
+ * shot.
+ *
+ * @author Jakub Sapalski
+ */
+public class HitscanGun extends DefaultGun {
+
+	private static final String MAX_PARTICLES = "max_particles";
+
+	private final int maxParticles;
+	private final double[] dir = new double[3];
+
+	public HitscanGun(ConfigurationSection section, Optional<Owner> owner) throws LoadingException {
+		super(section, owner, 256.0);
+		maxParticles = loader.loadNonNegativeInt(MAX_PARTICLES, 64);
+	}
+
+	@Override
+	public boolean act(InGamePlayer target, InGamePlayer source) {
+		Game game = target.getGame();
+		InGamePlayer creator = owner.get().getPlayer();
+		double proximity = Math.pow(getProximity(), 2);
+		double range = getRange();
+
+		// get starting values
+		PlayerSnapshot snapshot = target.getSnapshot();
+		double startX = startX(snapshot);
+		double startY = startY(snapshot);
+		double startZ = startZ(snapshot);
+		spread(snapshot.getDirX(), snapshot.getDirY(), snapshot.getDirZ(), getSpread(), dir, 0);
+		double x = dir[0], y = dir[1], z = dir[2];
+
+		// find the first solid block and the closest target before it
+		double length = game.getBlockCache().raycast(startX, startY, startZ, x, y, z, range);
+		boolean impact = length < range;
+		Target hit = game.getTargetFinder().nearestToSegment(startX, startY, startZ,
+				startX + x * length, startY + y * length, startZ + z * length,
+				proximity, t -> t.isTargetable() && !t.equals(creator));
+		if (hit != null) {
+			Location loc = hit.getLocation();
+			double along = (loc.getX() - startX) * x + (loc.getY() - startY) * y + (loc.getZ() - startZ) * z;
+			length = Math.max(0, Math.min(length, along));
+			impact = true;
+		}
+
+		// draw the tracer
+		World world = snapshot.getWorld();
+		drawTracer(world, startX, startY, startZ, x, y, z, length, maxParticles);
+		if (impact) {
+			spawnImpact(world, startX + x * length, startY + y * length, startZ + z * length);
+		}
+
+		Bukkit.getPluginManager().callEvent(new FlierProjectileLaunchEvent(target, this));
+		// target becomes the source
+		if (hit != null) {
+			game.handleHit(hit, new DefaultAttacker(this, creator, target, owner.get().getItem()));
+		}
+		return true;
+	}
+
+}
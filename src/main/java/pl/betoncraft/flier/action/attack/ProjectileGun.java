@@ -23,9 +23,6 @@
  */
 package pl.betoncraft.flier.action.attack;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 
 import org.bukkit.Bukkit;
@@ -39,7 +36,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import pl.betoncraft.flier.api.Flier;
@@ -47,9 +43,14 @@ import pl.betoncraft.flier.api.core.Attacker;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
 import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.Ticker.Tickable;
 import pl.betoncraft.flier.core.DefaultAttacker;
 import pl.betoncraft.flier.event.FlierProjectileLaunchEvent;
+import pl.betoncraft.flier.game.DefaultGame;
+import pl.betoncraft.flier.util.ProjectileManager;
 
 /**
  * Burst shooting weapon with unguided projectile-based bullets.
@@ -88,17 +89,27 @@ public class ProjectileGun extends DefaultAttack {
 	public boolean act(InGamePlayer target, InGamePlayer source) {
 		Player player = target.getPlayer();
 		int burstAmount = (int) modMan.modifyNumber(BURST_AMOUNT, this.burstAmount);
-		Map<Projectile, Vector> projectiles = new HashMap<>(burstAmount);
-		new BukkitRunnable() {
+		ProjectileManager manager = ((DefaultGame) target.getGame()).getProjectileManager();
+		target.getGame().getTicker().register(Phase.PROJECTILES, new Tickable() {
 			int counter = burstAmount;
-			double projectileSpeed = modMan.modifyNumber(PROJECTILE_SPEED, ProjectileGun.this.projectileSpeed);
-			EntityType entity = modMan.modifyEnum(ENTITY, ProjectileGun.this.entity);
+			int wait = 0;
+			final int burstTicks = (int) modMan.modifyNumber(BURST_TICKS, ProjectileGun.this.burstTicks);
+			final double projectileSpeed = modMan.modifyNumber(PROJECTILE_SPEED, ProjectileGun.this.projectileSpeed);
+			final EntityType entity = modMan.modifyEnum(ENTITY, ProjectileGun.this.entity);
 			@Override
-			public void run() {
-				Vector velocity = player.getLocation().getDirection().clone().multiply(projectileSpeed);
-				Vector pointer = player.getLocation().getDirection().clone().multiply(player.getVelocity().length() * 3);
-				Location launch = (player.isGliding() ? player.getLocation() : player.getEyeLocation())
-						.clone().add(pointer);
+			public boolean tick() {
+				if (wait-- > 0) {
+					return true;
+				}
+				wait = burstTicks - 1;
+				PlayerSnapshot snapshot = target.getSnapshot();
+				Vector dir = new Vector(snapshot.getDirX(), snapshot.getDirY(), snapshot.getDirZ());
+				Vector velocity = dir.clone().multiply(projectileSpeed);
+				Vector pointer = dir.multiply(snapshot.getSpeed() * 3);
+				Location launch = (snapshot.isGliding() ?
+						new Location(snapshot.getWorld(), snapshot.getX(), snapshot.getY(), snapshot.getZ()) :
+						new Location(snapshot.getWorld(), snapshot.getEyeX(), snapshot.getEyeY(), snapshot.getEyeZ())
+				).add(pointer);
 				Projectile projectile = (Projectile) launch.getWorld().spawnEntity(launch, entity);
 				projectile.setVelocity(velocity);
 				projectile.setShooter(player);
@@ -113,29 +124,13 @@ public class ProjectileGun extends DefaultAttack {
 				}
 				Attacker.saveAttacker(projectile, new DefaultAttacker(ProjectileGun.this, owner.get().getPlayer(),
 						target, owner.get().getItem()));
-				projectiles.put(projectile, velocity);
-				counter --;
-				if (counter <= 0) {
-					cancel();
-				}
+				// keep the projectile flying straight
+				manager.add(projectile, velocity, range);
 				// call event for each projectile launched
 				Bukkit.getPluginManager().callEvent(new FlierProjectileLaunchEvent(target, ProjectileGun.this));
+				return --counter > 0;
 			}
-		}.runTaskTimer(Flier.getInstance(), 0, (int) modMan.modifyNumber(BURST_TICKS, burstTicks));
-		new BukkitRunnable() {
-			int life = 0;
-			@Override
-			public void run() {
-				// update projectile path to prevent them from flying around
-				for (Entry<Projectile, Vector> entry : projectiles.entrySet()) {
-					entry.getKey().setVelocity(entry.getValue());
-				}
-				// cancel after the range has passed
-				if (++life >= range) {
-					cancel();
-				}
-			}
-		}.runTaskTimer(Flier.getInstance(), 0, 1);
+		});
 		return true;
 	}
 	
@@ -149,6 +144,7 @@ public class ProjectileGun extends DefaultAttack {
 			Attacker attacker = Attacker.getAttacker(event.getDamager());
 			if (attacker != null && attacker.getDamager() instanceof ProjectileGun) {
 				event.setCancelled(true);
+				Attacker.removeAttacker(event.getDamager());
 				event.getDamager().remove();
 				Target target = attacker.getCreator().getGame().getTargets().get(event.getEntity().getUniqueId());
 				if (target != null && target.isTargetable()) {
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.action.attack;
+
+import java.util.Optional;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.core.BlockCache;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
+import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.core.DefaultAttacker;
+import pl.betoncraft.flier.event.FlierProjectileLaunchEvent;
+import pl.betoncraft.flier.util.ModificationManager;
+
+/**
+ * Shotgun-like weapon which fires a cone of pellets hitting instantly. All
+ * pellets are resolved together and each Target is hit at most once per shot.
+ *
+ * @author Jakub Sapalski
+ */
+public class ScatterGun extends DefaultGun {
+
+	private static final String PELLETS = "pellets";
+	private static final String MIN_PELLETS = "min_pellets";
+	private static final String VISIBLE_PELLETS = "visible_pellets";
+	private static final String MAX_PARTICLES = "max_particles";
+
+	private static final int PELLETS_ID = ModificationManager.getPropertyId(PELLETS);
+	private static final int MIN_PELLETS_ID = ModificationManager.getPropertyId(MIN_PELLETS);
+
+	private final int pellets;
+	private final int minPellets;
+	private final int visiblePellets;
+	private final int maxParticles;
+
+	private double[] pelletDirs = new double[0];
+
+	public ScatterGun(ConfigurationSection section, Optional<Owner> owner) throws LoadingException {
+		super(section, owner, 32.0);
+		pellets = loader.loadPositiveInt(PELLETS);
+		minPellets = loader.loadPositiveInt(MIN_PELLETS, 1);
+		visiblePellets = loader.loadNonNegativeInt(VISIBLE_PELLETS, 3);
+		maxParticles = loader.loadNonNegativeInt(MAX_PARTICLES, 32);
+	}
+
+	@Override
+	public boolean act(InGamePlayer target, InGamePlayer source) {
+		Game game = target.getGame();
+		BlockCache voxels = game.getBlockCache();
+		InGamePlayer creator = owner.get().getPlayer();
+		int pellets = (int) modMan.modifyNumber(PELLETS_ID, this.pellets);
+		int minPellets = (int) modMan.modifyNumber(MIN_PELLETS_ID, this.minPellets);
+		double spread = getSpread();
+		double proximity = getProximity();
+		double proximitySqr = proximity * proximity;
+		double range = getRange();
+
+		// get starting values
+		PlayerSnapshot snapshot = target.getSnapshot();
+		double startX = startX(snapshot);
+		double startY = startY(snapshot);
+		double startZ = startZ(snapshot);
+		double dirX = snapshot.getDirX(), dirY = snapshot.getDirY(), dirZ = snapshot.getDirZ();
+
+		// calculate directions of all pellets, stored as consecutive XYZ
+		if (pelletDirs.length < pellets * 3) {
+			pelletDirs = new double[pellets * 3];
+		}
+		for (int i = 0; i < pellets; i++) {
+			spread(dirX, dirY, dirZ, spread, pelletDirs, i * 3);
+		}
+
+		// find all Targets which could be hit by any pellet
+		double slope = spread < 1 ? spread / Math.sqrt(1 - spread * spread) : Double.MAX_VALUE;
+		for (Target t : game.getTargetFinder().inCone(startX, startY, startZ, dirX, dirY, dirZ, range, slope,
+				proximity)) {
+			if (!t.isTargetable() || t.equals(creator)) {
+				continue;
+			}
+			Location loc = t.getLocation();
+			double tx = loc.getX() - startX, ty = loc.getY() - startY, tz = loc.getZ() - startZ;
+			double distance = Math.sqrt(tx * tx + ty * ty + tz * tz);
+			// a single ray checks if the Target is not covered by blocks
+			if (distance > 0 && voxels.raycast(startX, startY, startZ,
+					tx / distance, ty / distance, tz / distance, distance) < distance) {
+				continue;
+			}
+			// count pellets passing close enough to the Target
+			int count = 0;
+			for (int i = 0; i < pellets; i++) {
+				double px = pelletDirs[i * 3], py = pelletDirs[i * 3 + 1], pz = pelletDirs[i * 3 + 2];
+				double along = tx * px + ty * py + tz * pz;
+				if (along < 0) {
+					continue;
+				}
+				double ox = tx - px * along, oy = ty - py * along, oz = tz - pz * along;
+				if (ox * ox + oy * oy + oz * oz < proximitySqr) {
+					count++;
+				}
+			}
+			// target becomes the source
+			if (count >= minPellets) {
+				game.handleHit(t, new DefaultAttacker(this, creator, target, owner.get().getItem()));
+			}
+		}
+
+		// draw only some of the pellets
+		World world = snapshot.getWorld();
+		for (int p = 0; p < Math.min(pellets, visiblePellets); p++) {
+			double x = pelletDirs[p * 3], y = pelletDirs[p * 3 + 1], z = pelletDirs[p * 3 + 2];
+			double length = voxels.raycast(startX, startY, startZ, x, y, z, range);
+			drawTracer(world, startX, startY, startZ, x, y, z, length, maxParticles);
+		}
+
+		Bukkit.getPluginManager().callEvent(new FlierProjectileLaunchEvent(target, this));
+		return true;
+	}
+
+}
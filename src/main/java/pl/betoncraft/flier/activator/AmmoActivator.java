@@ -94,4 +94,14 @@ public class AmmoActivator extends DefaultActivator {
 		return false;
 	}
 
+	@Override
+	public Wake getWake() {
+		return Wake.STATE;
+	}
+
+	@Override
+	public int getCost() {
+		return 2;
+	}
+
 }
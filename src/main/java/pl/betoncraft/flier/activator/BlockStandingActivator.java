@@ -31,6 +31,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
 
 /**
  * Activates when the player is standing on a correct block.
@@ -51,7 +52,25 @@ public class BlockStandingActivator extends DefaultActivator {
 
 	@Override
 	public boolean isActive(InGamePlayer player, InGamePlayer source) {
-		return player.getLocation().add(0, -1, 0).getBlock().getType() == block;
+		PlayerSnapshot snapshot = player.getSnapshot();
+		int x = (int) Math.floor(snapshot.getCenterX());
+		int y = (int) Math.floor(snapshot.getCenterY()) - 1;
+		int z = (int) Math.floor(snapshot.getCenterZ());
+		// the block is always solid, so there's no need to check the world otherwise
+		if (!player.getGame().getBlockCache().isSolid(x, y, z)) {
+			return false;
+		}
+		return snapshot.getWorld().getBlockAt(x, y, z).getType() == block;
+	}
+
+	@Override
+	public Wake getWake() {
+		return Wake.STATE;
+	}
+
+	@Override
+	public int getCost() {
+		return 8;
 	}
 
 }
@@ -34,6 +34,7 @@ import pl.betoncraft.flier.api.core.Modification.ModificationTarget;
 import pl.betoncraft.flier.api.core.Owner;
 import pl.betoncraft.flier.util.LangManager;
 import pl.betoncraft.flier.util.ModificationManager;
+import pl.betoncraft.flier.util.Triggers;
 import pl.betoncraft.flier.util.ValueLoader;
 
 /**
@@ -67,6 +68,21 @@ public abstract class DefaultActivator implements Activator {
 		return name.startsWith("$") ? LangManager.getMessage(player, name.substring(1)) : name;
 	}
 	
+	@Override
+	public Wake getWake() {
+		return Wake.ALWAYS;
+	}
+	
+	@Override
+	public int getCost() {
+		return 10;
+	}
+	
+	@Override
+	public int getTrigger() {
+		return Triggers.NONE;
+	}
+	
 	@Override
 	public void addModification(Modification mod) {
 		if (mod.getTarget() == ModificationTarget.ACTIVATOR && mod.getNames().contains(id)) {
@@ -51,4 +51,14 @@ public class HoldingThisActivator extends DefaultActivator {
 		return player.isHolding(owner.get().getItem());
 	}
 
+	@Override
+	public Wake getWake() {
+		return Wake.STATE;
+	}
+
+	@Override
+	public int getCost() {
+		return 6;
+	}
+
 }
@@ -52,4 +52,14 @@ public class IntervalActivator extends DefaultActivator {
 		return counter++ % interval == 0;
 	}
 
+	@Override
+	public Wake getWake() {
+		return Wake.INTERVAL;
+	}
+
+	@Override
+	public int getCost() {
+		return 1;
+	}
+
 }
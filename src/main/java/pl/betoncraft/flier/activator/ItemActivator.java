@@ -52,11 +52,18 @@ public class ItemActivator extends DefaultActivator {
 
 	@Override
 	public boolean isActive(InGamePlayer player, InGamePlayer source) {
-		UsableItem found = player.getKit().getItems().stream()
-				.filter(i -> i.isSimilar(this.item))
-				.findFirst()
-				.orElse(null);
-		return found != null && found.getAmount() > 0;
+		UsableItem found = player.getKit().getItem(item.getID());
+		return found != null && found.isSimilar(item) && found.getAmount() > 0;
+	}
+
+	@Override
+	public Wake getWake() {
+		return Wake.STATE;
+	}
+
+	@Override
+	public int getCost() {
+		return 4;
 	}
 
 }
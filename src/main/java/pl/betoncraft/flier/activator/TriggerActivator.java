@@ -30,6 +30,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.util.Triggers;
 
 /**
  * Activates when the player has specified trigger on this tick.
@@ -38,11 +39,11 @@ import pl.betoncraft.flier.api.core.Owner;
  */
 public class TriggerActivator extends DefaultActivator {
 	
-	private String trigger;
+	private final int trigger;
 
 	public TriggerActivator(ConfigurationSection section, Optional<Owner> owner) throws LoadingException {
 		super(section, owner);
-		trigger = loader.loadString("trigger");
+		trigger = Triggers.getId(loader.loadString("trigger"));
 	}
 
 	@Override
@@ -50,4 +51,19 @@ public class TriggerActivator extends DefaultActivator {
 		return player.getTriggers().contains(trigger);
 	}
 
+	@Override
+	public Wake getWake() {
+		return Wake.TRIGGER;
+	}
+
+	@Override
+	public int getCost() {
+		return 1;
+	}
+
+	@Override
+	public int getTrigger() {
+		return trigger;
+	}
+
 }
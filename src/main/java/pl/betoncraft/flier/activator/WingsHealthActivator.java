@@ -73,4 +73,14 @@ public class WingsHealthActivator extends DefaultActivator {
 		return false;
 	}
 
+	@Override
+	public Wake getWake() {
+		return Wake.STATE;
+	}
+
+	@Override
+	public int getCost() {
+		return 2;
+	}
+
 }
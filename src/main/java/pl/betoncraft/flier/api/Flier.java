@@ -50,6 +50,8 @@ import pl.betoncraft.flier.api.core.Modification;
 import pl.betoncraft.flier.api.core.NoArenaException;
 import pl.betoncraft.flier.api.core.Owner;
 import pl.betoncraft.flier.api.core.UsableItem;
+import pl.betoncraft.flier.util.AttackerRegistry;
+import pl.betoncraft.flier.util.EffectListener;
 
 /**
  * The Flier plugin.
@@ -93,6 +95,17 @@ public interface Flier extends Plugin {
 	 *         footers.
 	 */
 	public FancyStuffWrapper getFancyStuff();
+
+	/**
+	 * @return the registry of Attackers responsible for entities launched by
+	 *         Flier
+	 */
+	public AttackerRegistry getAttackerRegistry();
+
+	/**
+	 * @return the listener which routes events to Effects of their Games
+	 */
+	public EffectListener getEffectListener();
 	
 	/**
 	 * Notifies the plugin that the player has joined a Game. It will update the list of players.
@@ -367,6 +380,18 @@ public interface Flier extends Plugin {
 	 */
 	public void registerEffect(String name, EffectFactory factory);
 
+	/**
+	 * Registers a custom trigger with specified name, so it can be used in
+	 * trigger activators. Add it to players with
+	 * {@link InGamePlayer#addTrigger(int)} when it happens. Registering the
+	 * same name again returns the same ID.
+	 * 
+	 * @param name
+	 *            name of the trigger
+	 * @return the ID of the trigger
+	 */
+	public int registerTrigger(String name);
+
 	/**
 	 * Gets the Lobby factory method for the given Lobby type.
 	 * 
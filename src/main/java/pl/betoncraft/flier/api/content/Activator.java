@@ -27,6 +27,7 @@ import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.Modification;
 import pl.betoncraft.flier.api.core.Named;
 import pl.betoncraft.flier.api.core.Owned;
+import pl.betoncraft.flier.util.Triggers;
 
 /**
  * Represents a condition, under which a Usage can be activated.
@@ -35,6 +36,30 @@ import pl.betoncraft.flier.api.core.Owned;
  */
 public interface Activator extends Named, Owned {
 
+	/**
+	 * Describes what can make an Activator active, so Usages can be checked
+	 * only when something could have activated them.
+	 */
+	public enum Wake {
+		/**
+		 * Active only in a tick in which the player has a specific trigger.
+		 */
+		TRIGGER,
+		/**
+		 * Active once in a number of checks.
+		 */
+		INTERVAL,
+		/**
+		 * Depends on the state of the player or the item, which can change in
+		 * any tick.
+		 */
+		STATE,
+		/**
+		 * Can be active in any tick for any other reason.
+		 */
+		ALWAYS
+	}
+
 	/**
 	 * @param player
 	 *            the player to check
@@ -44,6 +69,23 @@ public interface Activator extends Named, Owned {
 	 * @return whenever the Activator is active for this player
 	 */
 	public boolean isActive(InGamePlayer player, InGamePlayer source);
+
+	/**
+	 * @return what can make this Activator active
+	 */
+	public Wake getWake();
+
+	/**
+	 * @return the relative cost of checking this Activator, where 1 is a
+	 *         simple comparison and 10 is an unknown check
+	 */
+	public int getCost();
+
+	/**
+	 * @return ID of the trigger which activates this Activator, or
+	 *         {@link Triggers#NONE} if its Wake is not TRIGGER
+	 */
+	public int getTrigger();
 	
 	/**
 	 * Applies passed modification to this Activator.
@@ -34,9 +34,12 @@ import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 
 import pl.betoncraft.flier.api.core.Arena;
 import pl.betoncraft.flier.api.core.Attacker;
+import pl.betoncraft.flier.api.core.BlockCache;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.Named;
 import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.api.core.TargetFinder;
+import pl.betoncraft.flier.api.core.Ticker;
 import pl.betoncraft.flier.event.FlierGameEndEvent.GameEndCause;
 
 /**
@@ -239,4 +242,20 @@ public interface Game extends Named {
 	 */
 	public boolean hasRounds();
 
+	/**
+	 * @return the Ticker which runs all per-tick logic of this Game
+	 */
+	public Ticker getTicker();
+
+	/**
+	 * @return the TargetFinder which should be used to search for Targets in
+	 *         this Game
+	 */
+	public TargetFinder getTargetFinder();
+
+	/**
+	 * @return the BlockCache which should be used to check blocks in this Game
+	 */
+	public BlockCache getBlockCache();
+
 }
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.api.core;
+
+import org.bukkit.Location;
+
+/**
+ * Answers questions about blocks in a single Game's arena.
+ *
+ * @author Jakub Sapalski
+ */
+public interface BlockCache {
+
+	/**
+	 * @return whenever the block is solid; blocks in unloaded chunks are
+	 *         considered solid, so rays stop on them
+	 */
+	public boolean isSolid(int x, int y, int z);
+
+	/**
+	 * @return whenever the block is air; blocks in unloaded chunks are never
+	 *         considered air
+	 */
+	public boolean isAir(int x, int y, int z);
+
+	/**
+	 * Calculates the altitude above the first non-air block.
+	 * 
+	 * @param loc
+	 *            location which altitude needs to be calculated
+	 * @param max
+	 *            maximum altitude which will be checked
+	 * @return the altitude measured in blocks
+	 */
+	public int getAltitude(Location loc, int max);
+
+	/**
+	 * Same as {@link #getAltitude(Location, int)}, but accepts raw coordinates.
+	 */
+	public int getAltitude(double x, double y, double z, int max);
+
+	/**
+	 * Traces a ray through blocks and returns the distance to the first solid
+	 * one.
+	 * 
+	 * @param sx
+	 *            X coordinate of the start
+	 * @param sy
+	 *            Y coordinate of the start
+	 * @param sz
+	 *            Z coordinate of the start
+	 * @param dirX
+	 *            X component of the normalized direction
+	 * @param dirY
+	 *            Y component of the normalized direction
+	 * @param dirZ
+	 *            Z component of the normalized direction
+	 * @param max
+	 *            maximum distance of the ray
+	 * @return the distance to the first solid block or the maximum distance if
+	 *         there are none
+	 */
+	public double raycast(double sx, double sy, double sz, double dirX, double dirY, double dirZ, double max);
+
+}
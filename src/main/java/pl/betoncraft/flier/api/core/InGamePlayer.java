@@ -29,6 +29,9 @@ import java.util.Map;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 
+import pl.betoncraft.flier.api.Flier;
+import pl.betoncraft.flier.util.TriggerSet;
+
 /**
  * Represents a player who is in a Game.
  *
@@ -46,9 +49,18 @@ public interface InGamePlayer extends Target {
 	public void addTrigger(String name);
 
 	/**
-	 * @return the list of triggers which happened during this tick
+	 * Adds a trigger to the list, using its ID from
+	 * {@link Flier#registerTrigger(String)}.
+	 *
+	 * @param id
+	 *            ID of the trigger
 	 */
-	public List<String> getTriggers();
+	public void addTrigger(int id);
+
+	/**
+	 * @return the set of triggers which happened during this tick
+	 */
+	public TriggerSet getTriggers();
 
 	/**
 	 * @return the UsableItem which is currently held by the player
@@ -84,6 +96,12 @@ public interface InGamePlayer extends Target {
 	 */
 	public Player getPlayer();
 
+	/**
+	 * @return the state of the player captured at the beginning of the
+	 *         current tick
+	 */
+	public PlayerSnapshot getSnapshot();
+
 	/**
 	 * @return total weight of all items carried by the player
 	 */
@@ -149,6 +167,17 @@ public interface InGamePlayer extends Target {
 	 */
 	public void updateColors(Map<String, ChatColor> map);
 
+	/**
+	 * Updates the color of a single player in Scoreboard teams, leaving other
+	 * players untouched.
+	 * 
+	 * @param name
+	 *            name of the player
+	 * @param color
+	 *            new color of the player or null to remove it
+	 */
+	public void updateColor(String name, ChatColor color);
+
 	/**
 	 * @return a mutable list of SidebarLines this player has.
 	 */
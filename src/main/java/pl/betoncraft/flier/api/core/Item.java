@@ -38,6 +38,36 @@ public interface Item extends Named {
 	 */
 	public ItemStack getItem(InGamePlayer player);
 
+	/**
+	 * Returns the shared ItemStack of this item, which can be used for
+	 * reading without creating a new one each time. It isn't tagged with this
+	 * instance, so it doesn't match it. It must not be modified, use
+	 * {@link #getItem(InGamePlayer)} to get a copy which can.
+	 * 
+	 * @return the shared ItemStack equal to this item, with strings translated
+	 *         for specified player
+	 */
+	public ItemStack getTemplate(InGamePlayer player);
+
+	/**
+	 * Checks if the ItemStack is this item. It uses the tag added to all
+	 * ItemStacks created by Flier instead of comparing the item meta.
+	 * 
+	 * @param player
+	 *            the player who has the ItemStack
+	 * @param stack
+	 *            the ItemStack to check, can be null
+	 * @return whether the ItemStack is this item
+	 */
+	public boolean matches(InGamePlayer player, ItemStack stack);
+
+	/**
+	 * @return the number identifying ItemStacks of this item instance, the
+	 *         same number is hidden in every ItemStack created by
+	 *         {@link #getItem(InGamePlayer)}
+	 */
+	public long getTag();
+
 	/**
 	 * @return weight of an item
 	 */
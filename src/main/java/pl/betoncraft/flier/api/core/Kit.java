@@ -23,6 +23,7 @@
  */
 package pl.betoncraft.flier.api.core;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -94,6 +95,25 @@ public interface Kit {
 	 */
 	public List<UsableItem> getItems();
 
+	/**
+	 * @param slot
+	 *            inventory slot
+	 * @return the item which should be in this slot or null if there's none
+	 */
+	public UsableItem getItem(int slot);
+
+	/**
+	 * @param id
+	 *            ID of the item
+	 * @return the current item with this ID or null if there's none
+	 */
+	public UsableItem getItem(String id);
+
+	/**
+	 * @return the total weight of the engine, wings and all items
+	 */
+	public double getWeight();
+
 	/**
 	 * Removes one specified UsableItem from the inventory.
 	 * 
@@ -103,6 +123,21 @@ public interface Kit {
 	 */
 	public boolean removeItem(UsableItem item);
 
+	/**
+	 * Returns inventory slots which have changed since the last call to
+	 * {@link #clearChangedSlots()}. Slot numbers are raw PlayerInventory
+	 * indexes, so the engine is in slot 40 and the wings in slot 38.
+	 * 
+	 * @return changed slots or null if the whole inventory needs to be
+	 *         updated
+	 */
+	public BitSet getChangedSlots();
+
+	/**
+	 * Marks all slots as up to date, after the inventory was updated.
+	 */
+	public void clearChangedSlots();
+
 	/**
 	 * Performs the RespawnAction.
 	 */
@@ -40,4 +40,35 @@ public interface Modifier {
 	 */
 	public String getValue();
 
+	/**
+	 * @return the ID of the property, as interned by the ModificationManager
+	 */
+	public int getPropertyId();
+
+	/**
+	 * @return whether this modifier replaces the value of the property instead
+	 *         of multiplying and adding to it
+	 */
+	public boolean isValue();
+
+	/**
+	 * @return the amount added to the multiplier of the property
+	 */
+	public double getMultiplier();
+
+	/**
+	 * @return the amount added to the property
+	 */
+	public double getBonus();
+
+	/**
+	 * @return the value parsed as a number or null if it's not a number
+	 */
+	public Double getNumber();
+
+	/**
+	 * @return the value parsed as a boolean or null if it's not a boolean
+	 */
+	public Boolean getBoolean();
+
 }
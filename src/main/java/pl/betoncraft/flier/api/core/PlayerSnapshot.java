@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.api.core;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+import pl.betoncraft.flier.api.core.BlockCache;
+
+/**
+ * Immutable state of the player captured once per game tick, so activators,
+ * sidebar lines and attacks don't need to query the player over and over.
+ * <p>
+ * The snapshot is captured at the very beginning of the tick, before flight,
+ * items, projectiles and sidebar are updated. Changes made to the player
+ * during the tick (for example velocity modified by an engine) will be
+ * visible in the next snapshot.
+ *
+ * @author Jakub Sapalski
+ */
+public final class PlayerSnapshot {
+
+	/**
+	 * The maximum altitude measured by the snapshot.
+	 */
+	public static final int MAX_ALTITUDE = 256;
+
+	private static final int AIR = 2;
+
+	private final int tick;
+	private final World world;
+	private final double x, y, z;
+	private final double eyeX, eyeY, eyeZ;
+	private final double dirX, dirY, dirZ;
+	private final double velX, velY, velZ;
+	private final boolean gliding;
+	private final boolean sneaking;
+	private final boolean onGround;
+	private final BlockCache voxels;
+	private int altitude;
+	private final Usage.Where position;
+
+	/**
+	 * Captures the current state of the player.
+	 * 
+	 * @param data
+	 *            the player to capture
+	 */
+	public PlayerSnapshot(InGamePlayer data) {
+		Player player = data.getPlayer();
+		tick = data.getGame().getTicker().getCurrentTick();
+		Location loc = player.getLocation();
+		world = loc.getWorld();
+		x = loc.getX();
+		y = loc.getY();
+		z = loc.getZ();
+		eyeX = x;
+		eyeY = y + player.getEyeHeight();
+		eyeZ = z;
+		// same as Location.getDirection(), without creating a Vector
+		double yaw = Math.toRadians(loc.getYaw());
+		double pitch = Math.toRadians(loc.getPitch());
+		double xz = Math.cos(pitch);
+		dirX = -xz * Math.sin(yaw);
+		dirY = -Math.sin(pitch);
+		dirZ = xz * Math.cos(yaw);
+		Vector vel = player.getVelocity();
+		velX = vel.getX();
+		velY = vel.getY();
+		velZ = vel.getZ();
+		gliding = player.isGliding();
+		sneaking = player.isSneaking();
+		onGround = ((Entity) player).isOnGround();
+		// the position only needs to look a few blocks down, the full
+		// altitude is measured when something asks for it
+		voxels = data.getGame().getBlockCache();
+		int near = voxels.getAltitude(x, y, z, AIR);
+		altitude = near < AIR ? near : -1;
+		boolean ground = onGround || near < AIR;
+		boolean air = !ground && gliding;
+		position = ground ? Usage.Where.GROUND : air ? Usage.Where.AIR : Usage.Where.FALL;
+	}
+
+	/**
+	 * @return the game tick in which this snapshot was captured
+	 */
+	public int getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return the world in which the player is
+	 */
+	public World getWorld() {
+		return world;
+	}
+
+	/**
+	 * @return X coordinate of player's feet
+	 */
+	public double getX() {
+		return x;
+	}
+
+	/**
+	 * @return Y coordinate of player's feet
+	 */
+	public double getY() {
+		return y;
+	}
+
+	/**
+	 * @return Z coordinate of player's feet
+	 */
+	public double getZ() {
+		return z;
+	}
+
+	/**
+	 * @return X coordinate of player's eyes
+	 */
+	public double getEyeX() {
+		return eyeX;
+	}
+
+	/**
+	 * @return Y coordinate of player's eyes
+	 */
+	public double getEyeY() {
+		return eyeY;
+	}
+
+	/**
+	 * @return Z coordinate of player's eyes
+	 */
+	public double getEyeZ() {
+		return eyeZ;
+	}
+
+	/**
+	 * @return X coordinate of the point between player's feet and eyes
+	 */
+	public double getCenterX() {
+		return (x + eyeX) / 2;
+	}
+
+	/**
+	 * @return Y coordinate of the point between player's feet and eyes
+	 */
+	public double getCenterY() {
+		return (y + eyeY) / 2;
+	}
+
+	/**
+	 * @return Z coordinate of the point between player's feet and eyes
+	 */
+	public double getCenterZ() {
+		return (z + eyeZ) / 2;
+	}
+
+	/**
+	 * @return X component of the normalized direction the player is looking at
+	 */
+	public double getDirX() {
+		return dirX;
+	}
+
+	/**
+	 * @return Y component of the normalized direction the player is looking at
+	 */
+	public double getDirY() {
+		return dirY;
+	}
+
+	/**
+	 * @return Z component of the normalized direction the player is looking at
+	 */
+	public double getDirZ() {
+		return dirZ;
+	}
+
+	/**
+	 * @return X component of player's velocity
+	 */
+	public double getVelX() {
+		return velX;
+	}
+
+	/**
+	 * @return Y component of player's velocity
+	 */
+	public double getVelY() {
+		return velY;
+	}
+
+	/**
+	 * @return Z component of player's velocity
+	 */
+	public double getVelZ() {
+		return velZ;
+	}
+
+	/**
+	 * @return the length of player's velocity
+	 */
+	public double getSpeed() {
+		return Math.sqrt(velX * velX + velY * velY + velZ * velZ);
+	}
+
+	/**
+	 * @return whenever the player is gliding
+	 */
+	public boolean isGliding() {
+		return gliding;
+	}
+
+	/**
+	 * @return whenever the player is sneaking
+	 */
+	public boolean isSneaking() {
+		return sneaking;
+	}
+
+	/**
+	 * @return whenever the server considers the player standing on the ground
+	 */
+	public boolean isOnGround() {
+		return onGround;
+	}
+
+	/**
+	 * @return the amount of air blocks below the player, up to
+	 *         {@link #MAX_ALTITUDE}; it's measured when first requested
+	 */
+	public int getAltitude() {
+		if (altitude < 0) {
+			altitude = voxels.getAltitude(x, y, z, MAX_ALTITUDE);
+		}
+		return altitude;
+	}
+
+	/**
+	 * @return the position class of the player, one of GROUND, AIR and FALL
+	 */
+	public Usage.Where getPosition() {
+		return position;
+	}
+
+	/**
+	 * @return a new Location of the point between player's feet and eyes
+	 */
+	public Location getCenter() {
+		return new Location(world, getCenterX(), getCenterY(), getCenterZ());
+	}
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.api.core;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.bukkit.Location;
+
+/**
+ * Searches for Targets in a single Game.
+ *
+ * @author Jakub Sapalski
+ */
+public interface TargetFinder {
+
+	/**
+	 * Forces the finder to forget cached Target positions. Call it when
+	 * Targets are added to or removed from the Game.
+	 */
+	public void invalidate();
+
+	/**
+	 * Returns all Targets which are in the specified radius from the location.
+	 * The list is a copy, so it's safe to hit the Targets while iterating it.
+	 * 
+	 * @param loc
+	 *            the center of the sphere
+	 * @param radius
+	 *            radius of the sphere
+	 * @return the list of Targets in the sphere
+	 */
+	public List<Target> inRadius(Location loc, double radius);
+
+	/**
+	 * Returns all Targets which are inside the cone. The cone widens by
+	 * {@code slope} blocks for each block of its length, and Targets are
+	 * considered inside if they're closer than {@code margin} to it. The list
+	 * is a copy, so it's safe to hit the Targets while iterating it.
+	 * 
+	 * @param sx
+	 *            X coordinate of the cone's apex
+	 * @param sy
+	 *            Y coordinate of the cone's apex
+	 * @param sz
+	 *            Z coordinate of the cone's apex
+	 * @param dx
+	 *            X component of the normalized cone axis
+	 * @param dy
+	 *            Y component of the normalized cone axis
+	 * @param dz
+	 *            Z component of the normalized cone axis
+	 * @param length
+	 *            length of the cone
+	 * @param slope
+	 *            how fast the cone widens
+	 * @param margin
+	 *            additional distance from the cone
+	 * @return the list of Targets in the cone
+	 */
+	public List<Target> inCone(double sx, double sy, double sz, double dx, double dy, double dz,
+			double length, double slope, double margin);
+
+	/**
+	 * Finds the Target nearest to the location, which matches the filter.
+	 * 
+	 * @param loc
+	 *            the location to search around
+	 * @param maxDistance
+	 *            maximum distance to the Target, use Double.MAX_VALUE for
+	 *            no limit
+	 * @param filter
+	 *            only Targets matching this filter will be considered
+	 * @return the nearest Target or null if there are none
+	 */
+	public Target nearest(Location loc, double maxDistance, Predicate<Target> filter);
+
+	/**
+	 * Finds the Target closest to the start of the segment, from Targets
+	 * which are close enough to that segment and match the filter.
+	 * 
+	 * @param start
+	 *            start of the segment
+	 * @param end
+	 *            end of the segment
+	 * @param proximitySqr
+	 *            squared maximum distance between the Target and the segment
+	 * @param filter
+	 *            only Targets matching this filter will be considered
+	 * @return the Target closest to the start or null if there are none
+	 */
+	public Target nearestToSegment(Location start, Location end, double proximitySqr, Predicate<Target> filter);
+
+	/**
+	 * Same as {@link #nearestToSegment(Location, Location, double, Predicate)},
+	 * but accepts raw coordinates of the segment.
+	 */
+	public Target nearestToSegment(double sx, double sy, double sz, double ex, double ey, double ez,
+			double proximitySqr, Predicate<Target> filter);
+
+}
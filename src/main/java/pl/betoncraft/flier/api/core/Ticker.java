@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.api.core;
+
+/**
+ * Runs everything which needs to happen every tick in a single Game. Instead
+ * of scheduling their own tasks, players, bonuses, bullets and other components
+ * register Tickables into Phases, which are then run in a fixed order.
+ *
+ * @author Jakub Sapalski
+ */
+public interface Ticker {
+
+	/**
+	 * Phases of a single tick, in the order they are run.
+	 */
+	public enum Phase {
+		/**
+		 * Game state and player input, before anything moves.
+		 */
+		INPUT,
+		/**
+		 * Wings, engines and flight physics of players.
+		 */
+		FLIGHT,
+		/**
+		 * UsableItems and the effects of their usage.
+		 */
+		ITEMS,
+		/**
+		 * Bullets, missiles and other projectiles.
+		 */
+		PROJECTILES,
+		/**
+		 * Bonuses checking for players.
+		 */
+		BONUSES,
+		/**
+		 * Waiting room countdowns.
+		 */
+		WAITING_ROOM,
+		/**
+		 * Sidebar, action bar and other displays.
+		 */
+		HUD
+	}
+
+	/**
+	 * Something which is ticked by the Ticker.
+	 */
+	@FunctionalInterface
+	public interface Tickable {
+
+		/**
+		 * Called once per tick in the Phase this Tickable was registered in.
+		 * 
+		 * @return true if this Tickable should be ticked again, false if it
+		 *         should be removed
+		 */
+		public boolean tick();
+
+	}
+
+	/**
+	 * Registers the Tickable in specified Phase. If it's registered while
+	 * this Phase is running, it will be ticked in the same tick.
+	 * 
+	 * @param phase
+	 *            the Phase in which the Tickable will be ticked
+	 * @param tickable
+	 *            the Tickable to register
+	 */
+	public void register(Phase phase, Tickable tickable);
+
+	/**
+	 * Removes the Tickable from specified Phase. It's safe to call this method
+	 * while ticking.
+	 * 
+	 * @param phase
+	 *            the Phase in which the Tickable was registered
+	 * @param tickable
+	 *            the Tickable to remove
+	 */
+	public void unregister(Phase phase, Tickable tickable);
+
+	/**
+	 * @return the number of ticks this Ticker has run
+	 */
+	public int getCurrentTick();
+
+}
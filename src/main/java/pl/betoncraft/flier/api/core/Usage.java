@@ -27,6 +27,7 @@ import java.util.List;
 
 import pl.betoncraft.flier.api.content.Action;
 import pl.betoncraft.flier.api.content.Activator;
+import pl.betoncraft.flier.util.UsagePlan;
 
 /**
  * Represents a set of Activators which can activate a set of Actions.
@@ -78,4 +79,22 @@ public interface Usage extends Named {
 	 */
 	public boolean canUse(InGamePlayer player);
 
+	/**
+	 * Checks the position and all Activators of this Usage, in the order
+	 * planned by its UsagePlan.
+	 * 
+	 * @param player
+	 *            player who uses this Usage
+	 * @param source
+	 *            player from whom this Usage originates
+	 * @return whenever the player is in a correct position and all Activators
+	 *         are active
+	 */
+	public boolean isActive(InGamePlayer player, InGamePlayer source);
+
+	/**
+	 * @return the UsagePlan which orders checks of this Usage
+	 */
+	public UsagePlan getPlan();
+
 }
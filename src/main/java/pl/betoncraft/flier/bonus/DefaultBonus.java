@@ -33,7 +33,6 @@ import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import pl.betoncraft.flier.api.Flier;
 import pl.betoncraft.flier.api.content.Action;
@@ -42,6 +41,8 @@ import pl.betoncraft.flier.api.content.Game;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.Ticker.Tickable;
 import pl.betoncraft.flier.event.FlierCollectBonusEvent;
 import pl.betoncraft.flier.util.LangManager;
 import pl.betoncraft.flier.util.ValueLoader;
@@ -65,10 +66,8 @@ public abstract class DefaultBonus implements Bonus {
 
 	protected boolean available = false;
 	protected Map<UUID, Integer> cooldowns = new HashMap<>();
-	protected BukkitRunnable starter;
+	protected Tickable starter;
 	protected Game game;
-	protected int ticks = 0;
-	protected BukkitRunnable ticker;
 	
 	public DefaultBonus(ConfigurationSection section, Game game, Optional<Owner> owner) throws LoadingException {
 		id = section.getName();
@@ -126,6 +125,7 @@ public abstract class DefaultBonus implements Bonus {
 			return;
 		}
 		UUID uuid = player.getPlayer().getUniqueId();
+		int ticks = game.getTicker().getCurrentTick();
 		if (cooldown > 0) {
 			Integer cd = cooldowns.get(uuid);
 			if (cd != null) {
@@ -145,13 +145,18 @@ public abstract class DefaultBonus implements Bonus {
 			}
 			if (consumable) {
 				block();
-				starter = new BukkitRunnable() {
+				starter = new Tickable() {
+					private int left = respawn;
 					@Override
-					public void run() {
+					public boolean tick() {
+						if (left-- > 0) {
+							return true;
+						}
 						release();
+						return false;
 					}
 				};
-				starter.runTaskLater(Flier.getInstance(), respawn);
+				game.getTicker().register(Phase.BONUSES, starter);
 			}
 		}
 	}
@@ -175,26 +180,15 @@ public abstract class DefaultBonus implements Bonus {
 	@Override
 	public void start() {
 		available = true;
-		ticker = new BukkitRunnable() {
-			@Override
-			public void run() {
-				ticks++;
-			}
-		};
-		ticker.runTaskTimer(Flier.getInstance(), 0, 1);
 		release();
 	}
 	
 	@Override
 	public void stop() {
 		if (starter != null) {
-			starter.cancel();
+			game.getTicker().unregister(Phase.BONUSES, starter);
 			starter = null;
 		}
-		if (ticker != null) {
-			ticker.cancel();
-			ticker = null;
-		}
 		block();
 	}
 	
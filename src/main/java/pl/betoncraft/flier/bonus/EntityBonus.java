@@ -34,12 +34,13 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkUnloadEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import pl.betoncraft.flier.api.Flier;
 import pl.betoncraft.flier.api.content.Game;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.Ticker.Tickable;
 
 /**
  * An entity based Bonus type.
@@ -50,7 +51,7 @@ public class EntityBonus extends ProximityBonus implements Listener {
 	
 	protected EntityType type;
 	protected Entity entity;
-	protected BukkitRunnable rotator;
+	protected Tickable rotator;
 	
 	public EntityBonus(ConfigurationSection section, Game game, Optional<Owner> owner) throws LoadingException {
 		super(section, game, owner);
@@ -88,13 +89,11 @@ public class EntityBonus extends ProximityBonus implements Listener {
 	@Override
 	public void release() {
 		super.release();
-		rotator = new BukkitRunnable() {
-			@Override
-			public void run() {
-				update();
-			}
+		rotator = () -> {
+			update();
+			return true;
 		};
-		rotator.runTaskTimer(Flier.getInstance(), 1, 1);
+		game.getTicker().register(Phase.BONUSES, rotator);
 		entity = location.getWorld().spawnEntity(location, type);
 		try{
 			entity.setGravity(false);
@@ -116,7 +115,7 @@ public class EntityBonus extends ProximityBonus implements Listener {
 			entity = null;
 		}
 		if (rotator != null) {
-			rotator.cancel();
+			game.getTicker().unregister(Phase.BONUSES, rotator);
 			rotator = null;
 		}
 	}
@@ -27,13 +27,14 @@ import java.util.Optional;
 
 import org.bukkit.Location;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.scheduler.BukkitRunnable;
 
-import pl.betoncraft.flier.api.Flier;
 import pl.betoncraft.flier.api.content.Game;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.Ticker.Tickable;
 
 /**
  * A Bonus without physical manifestation, activated by proximity.
@@ -44,20 +45,18 @@ public class ProximityBonus extends DefaultBonus {
 
 	protected Location location;
 	protected final double distance;
-	protected BukkitRunnable checker;
+	protected Tickable checker;
 
 	public ProximityBonus(ConfigurationSection section, Game game, Optional<Owner> owner) throws LoadingException {
 		super(section, game, owner);
-		distance = Math.pow(loader.loadNonNegativeDouble("distance"), 2);
+		distance = loader.loadNonNegativeDouble("distance");
 		location = game.getArena().getLocationSet(loader.loadString("location")).getSingle();
 	}
 	
 	public void check() {
-		for (InGamePlayer player : game.getPlayers().values()) {
-			if (player != null &&
-					player.isPlaying() &&
-					player.getPlayer().getLocation().distanceSquared(location) <= distance) {
-				apply(player);
+		for (Target target : game.getTargetFinder().inRadius(location, distance)) {
+			if (target instanceof InGamePlayer && ((InGamePlayer) target).isPlaying()) {
+				apply((InGamePlayer) target);
 			}
 		}
 	}
@@ -65,20 +64,18 @@ public class ProximityBonus extends DefaultBonus {
 	@Override
 	public void release() {
 		super.release();
-		checker = new BukkitRunnable() {
-			@Override
-			public void run() {
-				check();
-			}
+		checker = () -> {
+			check();
+			return true;
 		};
-		checker.runTaskTimer(Flier.getInstance(), 1, 1);
+		game.getTicker().register(Phase.BONUSES, checker);
 	}
 	
 	@Override
 	public void block() {
 		super.block();
 		if (checker != null) {
-			checker.cancel();
+			game.getTicker().unregister(Phase.BONUSES, checker);
 			checker = null;
 		}
 	}
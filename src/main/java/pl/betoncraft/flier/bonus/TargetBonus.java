@@ -55,14 +55,17 @@ public class TargetBonus extends EntityBonus implements Target {
 		super.release();
 		entity.setInvulnerable(false);
 		game.getTargets().put(entity.getUniqueId(), this);
+		game.getTargetFinder().invalidate();
 	}
 	
 	@Override
 	public void block() {
-		super.block();
+		// the entity is removed when blocking, so remove the Target first
 		if (entity != null) {
 			game.getTargets().remove(entity.getUniqueId());
+			game.getTargetFinder().invalidate();
 		}
+		super.block();
 	}
 
 	@Override
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.command;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+
+import pl.betoncraft.flier.api.Flier;
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.content.Lobby;
+import pl.betoncraft.flier.api.core.CommandArgument;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.UsableItem;
+import pl.betoncraft.flier.api.core.Usage;
+
+/**
+ * Displays the planned order of usage checks of player's items, together
+ * with their costs and pass rates.
+ *
+ * @author Jakub Sapalski
+ */
+public class DebugArgument implements CommandArgument {
+	
+	private Permission permission = new Permission("flier.dev.debug");
+
+	@Override
+	public String getName() {
+		return "debug";
+	}
+
+	@Override
+	public List<String> getAliases() {
+		return Arrays.asList(new String[]{getName()});
+	}
+
+	@Override
+	public String getDescription(CommandSender sender) {
+		return "Shows how usages of player's items are checked.";
+	}
+
+	@Override
+	public String getHelp(CommandSender sender) {
+		return "<player>";
+	}
+
+	@Override
+	public void parse(CommandSender sender, String currentCommand, Iterator<String> it) {
+		String playerName;
+		try {
+			playerName = it.next();
+		} catch (NoSuchElementException e) {
+			CommandArgument.displayHelp(sender, currentCommand, this);
+			return;
+		}
+		Player player = Bukkit.getPlayer(playerName);
+		if (player == null) {
+			sender.sendMessage(String.format("%s%s is offline.", ChatColor.RED, playerName));
+			return;
+		}
+		UUID uuid = player.getUniqueId();
+		InGamePlayer data = null;
+		loop: for (Lobby lobby : Flier.getInstance().getLobbies().values()) {
+			for (List<Game> games : lobby.getGames().values()) {
+				for (Game game : games) {
+					data = game.getPlayers().get(uuid);
+					if (data != null) {
+						break loop;
+					}
+				}
+			}
+		}
+		if (data == null) {
+			sender.sendMessage(String.format("%s%s is not in any game.", ChatColor.RED, playerName));
+			return;
+		}
+		for (UsableItem item : data.getKit().getItems()) {
+			sender.sendMessage(String.format("%s%s:", ChatColor.YELLOW, item.getID()));
+			for (Usage usage : item.getUsages()) {
+				sender.sendMessage(String.format("%s  %s:", ChatColor.GOLD, usage.getID()));
+				for (String line : usage.getPlan().describe()) {
+					sender.sendMessage(String.format("%s    %s", ChatColor.GRAY, line));
+				}
+			}
+		}
+	}
+
+	@Override
+	public Permission getPermission() {
+		return permission;
+	}
+
+	@Override
+	public User getUser() {
+		return User.ANYONE;
+	}
+
+}
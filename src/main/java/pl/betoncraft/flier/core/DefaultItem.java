@@ -24,18 +24,16 @@
 package pl.betoncraft.flier.core;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.Item;
 import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.util.ItemTag;
 import pl.betoncraft.flier.util.LangManager;
 import pl.betoncraft.flier.util.ModificationManager;
 import pl.betoncraft.flier.util.ValueLoader;
@@ -49,27 +47,37 @@ public abstract class DefaultItem implements Item {
 
 	private static final String WEIGHT = "weight";
 
+	private static final int WEIGHT_ID = ModificationManager.getPropertyId(WEIGHT);
+
 	protected final String id;
 	protected final String name;
 	protected final ValueLoader loader;
 	protected final ModificationManager modMan;
+	protected final ItemDefinition definition;
 
 	protected final Material material;
 	protected final String rawName;
 	protected final List<String> rawLore;
 	protected final double weight;
 	protected final int slot;
+	protected final long tag;
 
 	public DefaultItem(ConfigurationSection section) throws LoadingException {
-		id = section.getName();
-		loader = new ValueLoader(section);
+		this(new ItemDefinition(section));
+	}
+
+	public DefaultItem(ItemDefinition definition) {
+		this.definition = definition;
+		id = definition.getID();
+		loader = definition.getLoader();
 		modMan = new ModificationManager();
-		name = loader.loadString("name", id);
-		material = loader.loadEnum("material", Material.class);
-		rawName = loader.loadString("name");
-		rawLore = section.getStringList("lore");
-		weight = loader.loadDouble(WEIGHT, 0.0);
-		slot = loader.loadInt("slot", -1);
+		name = definition.getName();
+		material = definition.getMaterial();
+		rawName = definition.getRawName();
+		rawLore = definition.getRawLore();
+		weight = definition.getWeight();
+		slot = definition.getSlot();
+		tag = ItemTag.of(definition.getTag(), ItemTag.nextInstance());
 	}
 
 	@Override
@@ -82,33 +90,35 @@ public abstract class DefaultItem implements Item {
 		return name.startsWith("$") ? LangManager.getMessage(player, name.substring(1)) : name;
 	}
 
-	@SuppressWarnings("deprecation")
 	@Override
 	public ItemStack getItem(InGamePlayer player) {
-		String name = rawName.startsWith("$") ?
-				LangManager.getMessage(player, rawName.substring(1)) :
-				ChatColor.translateAlternateColorCodes('&', rawName);
-		List<String> lore = rawLore.stream()
-				.map(s -> s.startsWith("$") ?
-						LangManager.getMessage(player, s.substring(1)) :
-						ChatColor.translateAlternateColorCodes('&', s))
-				.collect(Collectors.toList());
-		ItemStack item = new ItemStack(material);
-		ItemMeta meta = item.getItemMeta();
-		meta.setDisplayName(name);
-		meta.setLore(lore);
-		try {
-			meta.setUnbreakable(true);
-		} catch (NoSuchMethodError e) {
-			meta.spigot().setUnbreakable(true);
+		ItemStack stack = getTemplate(player).clone();
+		ItemTag.tag(stack, tag);
+		return stack;
+	}
+
+	@Override
+	public ItemStack getTemplate(InGamePlayer player) {
+		return definition.getTemplate(player.getLanguage());
+	}
+
+	@Override
+	public boolean matches(InGamePlayer player, ItemStack stack) {
+		// the type is checked first, reading the tag copies the item meta
+		if (stack == null || stack.getType() != definition.getMaterial()) {
+			return false;
 		}
-		item.setItemMeta(meta);
-		return item;
+		return ItemTag.read(stack) == tag;
+	}
+
+	@Override
+	public long getTag() {
+		return tag;
 	}
 
 	@Override
 	public double getWeight() {
-		return modMan.modifyNumber(WEIGHT, weight);
+		return modMan.modifyNumber(WEIGHT_ID, weight);
 	}
 
 	@Override
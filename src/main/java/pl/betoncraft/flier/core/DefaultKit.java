@@ -24,12 +24,13 @@
 package pl.betoncraft.flier.core;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -39,6 +40,8 @@ import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.ItemSet;
 import pl.betoncraft.flier.api.core.Kit;
 import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Modification;
+import pl.betoncraft.flier.api.core.Modification.ModificationTarget;
 import pl.betoncraft.flier.api.core.SetApplier;
 import pl.betoncraft.flier.api.core.UsableItem;
 
@@ -52,7 +55,15 @@ public class DefaultKit implements Kit {
 	private final RespawnAction respawnAction;
 	private final InGamePlayer owner;
 	
-	private Compiled compiled;
+	/**
+	 * Raw PlayerInventory indexes of the engine and the wings.
+	 */
+	private static final int OFF_HAND_SLOT = 40;
+	private static final int CHEST_SLOT = 38;
+	
+	private Compiled compiled = new Compiled();
+	private final BitSet changedSlots = new BitSet();
+	private boolean allChanged = true;
 
 	private final Map<String, ItemSet> current = new HashMap<>();
 	private final Map<String, List<SetApplier>> stored = new HashMap<>();
@@ -85,70 +96,222 @@ public class DefaultKit implements Kit {
 		private Engine engine;
 		private Wings wings;
 		private List<UsableItem> items = new ArrayList<>();
+		// indexes of compiled items, rebuilt after each update
+		private UsableItem[] bySlot = new UsableItem[0];
+		private Map<String, UsableItem> byId = new HashMap<>();
+		// total weight, NaN if it needs to be calculated again
+		private double weight = Double.NaN;
 
-		private Compiled(Collection<ItemSet> sets, boolean refill) {
-			for (ItemSet set : sets) {
+		/**
+		 * Updates the compiled kit after the ItemSet in one category has
+		 * changed. Only items of that category are merged or removed and only
+		 * modifications which it added or removed are applied. Old amounts are
+		 * amounts of the old set's items before the change.
+		 */
+		private void update(String category, ItemSet oldSet, List<Modification> oldMods, int[] oldAmounts, boolean refill) {
+			ItemSet newSet = current.get(category);
+			// class name, engine and wings come from the last set which has them
+			Optional<String> name = Optional.empty();
+			Engine engine = null;
+			Wings wings = null;
+			for (ItemSet set : current.values()) {
 				if (set.getClassName().isPresent()) {
 					name = set.getClassName();
 				}
 				// don't override existing stuff with nulls!
 				engine = set.getEngine() == null ? engine : set.getEngine();
+				wings = set.getWings() == null ? wings : set.getWings();
+			}
+			this.name = name;
+			Engine newEngine = null;
+			if (engine != this.engine) {
+				this.engine = newEngine = engine;
+				markChanged(OFF_HAND_SLOT);
 				if (engine != null) {
 					engine.clearModifications();
 				}
-				wings = set.getWings() == null ? wings : set.getWings();
+			}
+			Wings newWings = null;
+			if (wings != this.wings) {
+				this.wings = newWings = wings;
+				markChanged(CHEST_SLOT);
 				if (wings != null) {
 					wings.clearModifications();
 				}
-				List<UsableItem> items = set.getItems();
-				loop: for (UsableItem newItem : items) {
-					for (UsableItem existingItem : this.items) {
-						if (existingItem.isSimilar(newItem)) {
+			}
+			// merge items of the changed category
+			List<UsableItem> newItems = new ArrayList<>();
+			if (oldSet != newSet) {
+				if (oldSet != null) {
+					List<UsableItem> oldItems = oldSet.getItems();
+					for (int i = 0; i < oldItems.size(); i++) {
+						UsableItem oldItem = oldItems.get(i);
+						if (items.remove(oldItem)) {
+							markChanged(oldItem.slot());
+							int rest = oldItem.getAmount() - oldAmounts[i];
+							if (rest > 0) {
+								// similar items from other sets were merged into it
+								UsableItem otherItem = findInOtherSets(category, oldItem);
+								if (otherItem != null) {
+									otherItem.setAmount(rest);
+									otherItem.clearModifications();
+									items.add(otherItem);
+									newItems.add(otherItem);
+								}
+							}
+							continue;
+						}
+						// the item was merged with a similar one from another set
+						UsableItem existingItem = findSimilar(oldItem);
+						if (existingItem != null) {
+							existingItem.setAmount(existingItem.getAmount() - oldAmounts[i]);
+							markChanged(existingItem.slot());
+						}
+					}
+				}
+				if (newSet != null) {
+					for (UsableItem newItem : newSet.getItems()) {
+						UsableItem existingItem = findSimilar(newItem);
+						if (existingItem != null) {
 							existingItem.setAmount(existingItem.getAmount() + newItem.getAmount());
-							existingItem.clearModifications();
-							continue loop;
+							markChanged(existingItem.slot());
+						} else {
+							newItem.clearModifications();
+							items.add(newItem);
+							newItems.add(newItem);
+							markChanged(newItem.slot());
 						}
 					}
-					newItem.clearModifications();
-					this.items.add(newItem);
 				}
-			}
-			// apply modifications
-			sets.forEach(set -> set.getModifications().forEach(mod -> {
-				switch (mod.getTarget()) {
-				case ENGINE:
-					if (mod.getNames().contains(engine.getID())) {
-						engine.addModification(mod);
+			} else if (newSet != null) {
+				// the same set, only amounts have changed
+				List<UsableItem> setItems = newSet.getItems();
+				for (int i = 0; i < setItems.size(); i++) {
+					UsableItem item = setItems.get(i);
+					UsableItem existingItem = findSimilar(item);
+					if (existingItem != null && existingItem != item) {
+						// merged with a similar item, pass the difference
+						existingItem.setAmount(existingItem.getAmount() + item.getAmount() - oldAmounts[i]);
 					}
-					break;
-				case WINGS:
-					if (mod.getNames().contains(wings.getID())) {
-						wings.addModification(mod);
+					markChanged(item.slot());
+				}
+			}
+			// modifications from other categories are not affected
+			List<Modification> otherMods = new ArrayList<>();
+			for (Entry<String, ItemSet> entry : current.entrySet()) {
+				if (!entry.getKey().equals(category)) {
+					otherMods.addAll(entry.getValue().getModifications());
+				}
+			}
+			List<Modification> newMods = newSet == null ? Collections.emptyList() : newSet.getModifications();
+			for (Modification mod : oldMods) {
+				if (!newMods.contains(mod) && !otherMods.contains(mod)) {
+					modify(mod, false, this.engine, this.wings, items);
+				}
+			}
+			for (Modification mod : newMods) {
+				if (!oldMods.contains(mod) && !otherMods.contains(mod)) {
+					modify(mod, true, this.engine, this.wings, items);
+				}
+			}
+			// new engine, wings and items get all modifications
+			if (newEngine != null || newWings != null || !newItems.isEmpty()) {
+				for (ItemSet set : current.values()) {
+					for (Modification mod : set.getModifications()) {
+						modify(mod, true, newEngine, newWings, newItems);
 					}
-					break;
-				case USABLE_ITEM:
-					items.stream()
-							.filter(item -> mod.getNames().contains(item.getID()))
-							.forEach(item -> item.addModification(mod));
-					break;
-				case ACTION:
-				case ACTIVATOR:
-					items.forEach(item -> item.addModification(mod));
-					break;
 				}
-			}));
+			}
 			// optionally refill all items
 			if (refill) {
 				for (UsableItem item : items) {
 					item.refill();
 				}
-				if (engine != null) {
-					engine.refill();
+				if (this.engine != null) {
+					this.engine.refill();
 				}
-				if (wings != null) {
-					wings.refill();
+				if (this.wings != null) {
+					this.wings.refill();
+				}
+			}
+			// index items by slots and IDs
+			int maxSlot = -1;
+			for (UsableItem item : items) {
+				maxSlot = Math.max(maxSlot, item.slot());
+			}
+			bySlot = new UsableItem[maxSlot + 1];
+			byId = new HashMap<>(items.size() * 2);
+			for (UsableItem item : items) {
+				int slot = item.slot();
+				if (slot >= 0 && bySlot[slot] == null) {
+					bySlot[slot] = item;
+				}
+				byId.putIfAbsent(item.getID(), item);
+			}
+			weight = Double.NaN;
+		}
+
+		private UsableItem findInOtherSets(String category, UsableItem item) {
+			for (Entry<String, ItemSet> entry : current.entrySet()) {
+				if (entry.getKey().equals(category)) {
+					continue;
+				}
+				for (UsableItem otherItem : entry.getValue().getItems()) {
+					if (otherItem.isSimilar(item)) {
+						return otherItem;
+					}
+				}
+			}
+			return null;
+		}
+
+		private UsableItem findSimilar(UsableItem item) {
+			for (UsableItem existingItem : items) {
+				if (existingItem.isSimilar(item)) {
+					return existingItem;
 				}
 			}
+			return null;
+		}
+
+		/**
+		 * Adds or removes the modification to/from applicable objects. Null
+		 * engine or wings are skipped.
+		 */
+		private void modify(Modification mod, boolean add, Engine engine, Wings wings, List<UsableItem> items) {
+			switch (mod.getTarget()) {
+			case ENGINE:
+				if (engine != null && mod.getNames().contains(engine.getID())) {
+					if (add) {
+						engine.addModification(mod);
+					} else {
+						engine.removeModification(mod);
+					}
+				}
+				break;
+			case WINGS:
+				if (wings != null && mod.getNames().contains(wings.getID())) {
+					if (add) {
+						wings.addModification(mod);
+					} else {
+						wings.removeModification(mod);
+					}
+				}
+				break;
+			case USABLE_ITEM:
+			case ACTION:
+			case ACTIVATOR:
+				for (UsableItem item : items) {
+					if (mod.getTarget() != ModificationTarget.USABLE_ITEM || mod.getNames().contains(item.getID())) {
+						if (add) {
+							item.addModification(mod);
+						} else {
+							item.removeModification(mod);
+						}
+					}
+				}
+				break;
+			}
 		}
 		
 		public Engine getEngine() {
@@ -167,13 +330,24 @@ public class DefaultKit implements Kit {
 	
 	private void load() {
 		current.clear();
+		compiled = new Compiled();
+		markAllChanged();
 		stored.values().forEach(list -> list.forEach(applier -> addCurrent(applier)));
 	}
 	
-	private void compile(boolean refill) {
-		compiled = new Compiled(current.values(), refill);
+	private void markChanged(int slot) {
+		if (slot < 0) {
+			// items without a slot can be anywhere
+			allChanged = true;
+		} else {
+			changedSlots.set(slot);
+		}
 	}
 	
+	private void markAllChanged() {
+		allChanged = true;
+	}
+
 	@Override
 	public void reset() {
 		stored.putAll(getDefault());
@@ -194,6 +368,8 @@ public class DefaultKit implements Kit {
 		Engine e = compiled.engine;
 		if (e != null) {
 			compiled.engine = null;
+			compiled.weight = Double.NaN;
+			markChanged(OFF_HAND_SLOT);
 			for (Iterator<ItemSet> i = current.values().iterator(); i.hasNext();) {
 				ItemSet set = i.next();
 				set.setEngine(null);
@@ -217,6 +393,8 @@ public class DefaultKit implements Kit {
 		Wings w = compiled.wings;
 		if (w != null) {
 			compiled.wings = null;
+			compiled.weight = Double.NaN;
+			markChanged(CHEST_SLOT);
 			for (Iterator<ItemSet> i = current.values().iterator(); i.hasNext();) {
 				ItemSet set = i.next();
 				set.setWings(null);
@@ -235,6 +413,35 @@ public class DefaultKit implements Kit {
 		return compiled.getItems();
 	}
 	
+	@Override
+	public UsableItem getItem(int slot) {
+		UsableItem[] bySlot = compiled.bySlot;
+		return slot >= 0 && slot < bySlot.length ? bySlot[slot] : null;
+	}
+	
+	@Override
+	public UsableItem getItem(String id) {
+		return compiled.byId.get(id);
+	}
+	
+	@Override
+	public double getWeight() {
+		if (Double.isNaN(compiled.weight)) {
+			double weight = 0;
+			if (compiled.engine != null) {
+				weight += compiled.engine.getWeight();
+			}
+			if (compiled.wings != null) {
+				weight += compiled.wings.getWeight();
+			}
+			for (UsableItem item : compiled.items) {
+				weight += item.getWeight();
+			}
+			compiled.weight = weight;
+		}
+		return compiled.weight;
+	}
+	
 	@Override
 	public boolean removeItem(UsableItem removeItem) {
 		int newAmount = 0;
@@ -250,6 +457,7 @@ public class DefaultKit implements Kit {
 					item.setAmount(0);
 				}
 				found = true;
+				markChanged(item.slot());
 				break;
 			}
 		}
@@ -275,8 +483,21 @@ public class DefaultKit implements Kit {
 		return found;
 	}
 	
+	@Override
+	public BitSet getChangedSlots() {
+		return allChanged ? null : changedSlots;
+	}
+	
+	@Override
+	public void clearChangedSlots() {
+		allChanged = false;
+		changedSlots.clear();
+	}
+	
 	@Override
 	public void onRespawn() {
+		// respawning players have their inventory cleared
+		markAllChanged();
 		switch (respawnAction) {
 		case CLEAR:
 			load();
@@ -308,6 +529,9 @@ public class DefaultKit implements Kit {
 		String category = applier.getCategory();
 		AddResult result = null;
 		ItemSet c = current.get(category); // current ItemSet
+		// the set may be changed in place, so its state must be copied now
+		List<Modification> oldMods = c == null ? Collections.emptyList() : new ArrayList<>(c.getModifications());
+		int[] oldAmounts = c == null ? new int[0] : c.getItems().stream().mapToInt(item -> item.getAmount()).toArray();
 		if (c == null) { // new set
 			switch (applier.getAddType()) {
 			case INCREASE:
@@ -355,7 +579,7 @@ public class DefaultKit implements Kit {
 			}
 		}
 		if (result != AddResult.ALREADY_MAXED && result != AddResult.ALREADY_EMPTIED && result != AddResult.SKIPPED) {
-			compile(set.refills());
+			compiled.update(category, c, oldMods, oldAmounts, set.refills());
 		}
 		return result;
 	}
@@ -25,6 +25,7 @@ package pl.betoncraft.flier.core;
 
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Modifier;
+import pl.betoncraft.flier.util.ModificationManager;
 
 /**
  * Default implementation of Modifier.
@@ -35,10 +36,47 @@ public class DefaultModifier implements Modifier {
 	
 	protected String property;
 	protected String value;
+	protected int propertyId;
+	protected boolean isValue = true;
+	protected double multiplier = 0;
+	protected double bonus = 0;
+	protected Double number = null;
+	protected Boolean bool = null;
 	
 	public DefaultModifier(String property, String value) throws LoadingException {
 		this.property = property;
 		this.value = value;
+		propertyId = ModificationManager.getPropertyId(property);
+		// parse multiplying and adding
+		for (String part : value.split(",")) {
+			part = part.trim();
+			if (part.startsWith("*(") && part.endsWith(")")) {
+				try {
+					multiplier += Double.parseDouble(part.substring(2, part.length() - 1));
+					isValue = false;
+				} catch (NumberFormatException e) {
+					// nothing, this probably is just text
+				}
+			} else if (part.startsWith("+(") && part.endsWith(")")) {
+				try {
+					bonus += Double.parseDouble(part.substring(2, part.length() - 1));
+					isValue = false;
+				} catch (NumberFormatException e) {
+					// nothing, this probably is just text
+				}
+			}
+		}
+		// if it's not a number modifier then it's a value
+		if (isValue) {
+			try {
+				number = Double.parseDouble(value);
+			} catch (NumberFormatException e) {
+				// not a number, huh
+			}
+			if (value.equals("true") || value.equals("false")) {
+				bool = Boolean.parseBoolean(value);
+			}
+		}
 	}
 
 	@Override
@@ -50,6 +88,36 @@ public class DefaultModifier implements Modifier {
 	public String getValue() {
 		return value;
 	}
+
+	@Override
+	public int getPropertyId() {
+		return propertyId;
+	}
+
+	@Override
+	public boolean isValue() {
+		return isValue;
+	}
+
+	@Override
+	public double getMultiplier() {
+		return multiplier;
+	}
+
+	@Override
+	public double getBonus() {
+		return bonus;
+	}
+
+	@Override
+	public Double getNumber() {
+		return number;
+	}
+
+	@Override
+	public Boolean getBoolean() {
+		return bool;
+	}
 	
 	@Override
 	public boolean equals(Object o) {
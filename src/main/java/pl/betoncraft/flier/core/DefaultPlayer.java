@@ -25,11 +25,11 @@ package pl.betoncraft.flier.core;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -37,19 +37,15 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
-import org.bukkit.scoreboard.Score;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 import org.bukkit.util.Vector;
 
-import com.google.common.collect.Lists;
-
 import pl.betoncraft.flier.api.Flier;
 import pl.betoncraft.flier.api.content.Action;
-import pl.betoncraft.flier.api.content.Activator;
 import pl.betoncraft.flier.api.content.Engine;
 import pl.betoncraft.flier.api.content.Game;
 import pl.betoncraft.flier.api.content.Game.Attitude;
@@ -58,13 +54,24 @@ import pl.betoncraft.flier.api.core.Attacker;
 import pl.betoncraft.flier.api.core.Damager;
 import pl.betoncraft.flier.api.core.FancyStuffWrapper;
 import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.Item;
 import pl.betoncraft.flier.api.core.Kit;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
 import pl.betoncraft.flier.api.core.SidebarLine;
+import pl.betoncraft.flier.api.core.Ticker;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.Ticker.Tickable;
 import pl.betoncraft.flier.api.core.UsableItem;
 import pl.betoncraft.flier.api.core.Usage;
 import pl.betoncraft.flier.event.FlierEngineUseEvent;
 import pl.betoncraft.flier.event.FlierPlayerHitEvent;
+import pl.betoncraft.flier.game.DefaultGame;
+import pl.betoncraft.flier.util.Hud;
+import pl.betoncraft.flier.util.Hud.Channel;
+import pl.betoncraft.flier.util.ItemTag;
 import pl.betoncraft.flier.util.LangManager;
+import pl.betoncraft.flier.util.TriggerSet;
+import pl.betoncraft.flier.util.Triggers;
 import pl.betoncraft.flier.util.Utils;
 
 /**
@@ -74,6 +81,24 @@ import pl.betoncraft.flier.util.Utils;
  */
 public class DefaultPlayer implements InGamePlayer {
 	
+	/**
+	 * Raw PlayerInventory indexes of the engine and the wings.
+	 */
+	private static final int OFF_HAND_SLOT = 40;
+	private static final int CHEST_SLOT = 38;
+	/**
+	 * Names of Scoreboard teams used for player colors, by ChatColor ordinals.
+	 */
+	private static final String[] COLOR_TEAMS;
+	
+	static {
+		ChatColor[] colors = ChatColor.values();
+		COLOR_TEAMS = new String[colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			COLOR_TEAMS[i] = colors[i].name().toLowerCase();
+		}
+	}
+	
 	private Player player;
 	private Game game;
 	private Kit kit;
@@ -81,18 +106,33 @@ public class DefaultPlayer implements InGamePlayer {
 	private Scoreboard oldSb;
 	private Scoreboard sb;
 	private FancyStuffWrapper fancyStuff;
-	private BukkitRunnable ticker;
-	private int tickCounter = 0;
+	private final Tickable inputTicker = this::inputTick;
+	private final Tickable flightTicker = this::flightTick;
+	private final Tickable itemsTicker = this::itemsTick;
+	private final Tickable hudTicker = this::hudTick;
+	private final Hud hud;
+	private PlayerSnapshot snapshot;
 
 	private boolean isPlaying;
-	private List<String> triggers = new ArrayList<>();
+	private final TriggerSet triggers = new TriggerSet();
 	private int noDamageTicks = 0;
 	private List<SidebarLine> lines = new LinkedList<>();
 	private Attacker lastHit = null;
 	private ChatColor color = ChatColor.WHITE;
 	private int money;
-	
-	public DefaultPlayer(Player player, Game game, Kit kit) {
+	// what was last written to the inventory, used to send only changed slots
+	private Item[] shownItems;
+	private int[] shownAmounts;
+	private boolean resync = true;
+	// tags of stacks seen in slots, read again only when the type or amount
+	// of the stack changes, since players can't move items themselves
+	private long[] slotTags = new long[0];
+	private Material[] slotTypes = new Material[0];
+	private int[] slotAmounts = new int[0];
+	// reused snapshot of kit items for using them
+	private UsableItem[] usedItems = new UsableItem[0];
+	
+	public DefaultPlayer(Player player, DefaultGame game, Kit kit) {
 		Flier flier = Flier.getInstance();
 		this.player = player;
 		this.game = game;
@@ -104,22 +144,32 @@ public class DefaultPlayer implements InGamePlayer {
 		Objective stats = sb.registerNewObjective("stats", "dummy");
 		stats.setDisplaySlot(DisplaySlot.SIDEBAR);
 		stats.setDisplayName("Stats");
+		int[] intervals = new int[Channel.values().length];
+		for (Channel channel : Channel.values()) {
+			intervals[channel.ordinal()] = game.getHudInterval(channel);
+		}
+		hud = new Hud(player, sb, fancyStuff, intervals);
 		Utils.clearPlayer(player);
 		updateKit();
-		ticker = new BukkitRunnable() {
-			@Override
-			public void run() {
-				fastTick();
-				if (tickCounter % 4 == 0) {
-					slowTick();
-				}
-				tickCounter++;
-			}
-		};
-		ticker.runTaskTimer(flier, 1, 1);
+		Ticker ticker = game.getTicker();
+		ticker.register(Phase.INPUT, inputTicker);
+		ticker.register(Phase.FLIGHT, flightTicker);
+		ticker.register(Phase.ITEMS, itemsTicker);
+		ticker.register(Phase.HUD, hudTicker);
+	}
+
+	/**
+	 * Captures the state of the player for this tick.
+	 */
+	private boolean inputTick() {
+		snapshot = new PlayerSnapshot(this);
+		return true;
 	}
 
-	public void fastTick() {
+	/**
+	 * Manages wings, flight and fuel of the player.
+	 */
+	private boolean flightTick() {
 		if (isPlaying()) {
 			boolean hasWings = hasWings();
 			boolean wingsDead = kit.getWings().getHealth() == 0;
@@ -134,7 +184,7 @@ public class DefaultPlayer implements InGamePlayer {
 						takeWingsOff();
 						enableWings();
 					} else { // wings are not disabled
-						if (player.isGliding()) { // the player is flying
+						if (getSnapshot().isGliding()) { // the player is flying
 							modifyFlight();
 							if (isAccelerating()) { // the player is accelerating
 								speedUp();
@@ -150,60 +200,48 @@ public class DefaultPlayer implements InGamePlayer {
 			if (!isAccelerating()) { // is not accelerating
 				regenerateFuel();
 			}
-			
-			// manage UsableItems
+		}
+		return true;
+	}
+
+	/**
+	 * Uses UsableItems with triggers gathered since the last tick.
+	 */
+	private boolean itemsTick() {
+		if (isPlaying()) {
 			use();
 			triggers.clear();
 			noDamageTicks--;
 		}
-		displayReloadingTime();
+		return true;
 	}
 
-	public void slowTick() {
-		updateStats();
-		updateActionBar();
-		if (!sb.equals(player.getScoreboard())) {
-			player.setScoreboard(sb);
+	/**
+	 * Updates displays, each one at the interval set by the game.
+	 */
+	private boolean hudTick() {
+		hud.tick();
+		if (hud.isDue(Channel.EXP_BAR)) {
+			displayReloadingTime();
+		}
+		if (hud.isDue(Channel.SIDEBAR)) {
+			updateStats();
+			if (!sb.equals(player.getScoreboard())) {
+				player.setScoreboard(sb);
+			}
 		}
+		if (hud.isDue(Channel.ACTION_BAR)) {
+			updateActionBar();
+		}
+		return true;
 	}
 	
 	private void updateActionBar() {
-		if (fancyStuff.hasActionBarHandler()) {
-			int slot = player.getInventory().getHeldItemSlot();
-			UsableItem item = null;
-			for (UsableItem i : kit.getItems()) {
-				if (i.slot() == slot) {
-					item = i;
-					break;
-				}
-			}
-			if (item != null && item.getMaxAmmo() != 0) {
-				int ammo = item.getAmmo();
-				int maxAmmo = item.getMaxAmmo();
-				String color;
-				if (ammo == 0) {
-					color = ChatColor.BLACK.toString();
-				} else if (ammo > maxAmmo / 4.0 * 3.0) {
-					color = ChatColor.GREEN.toString();
-				} else if (ammo > maxAmmo / 4.0) {
-					color = ChatColor.YELLOW.toString();
-				} else {
-					color = ChatColor.RED.toString();
-				}
-				String ammoChar = LangManager.getMessage(this, "ammo_char");
-				String full = "";
-				for (int i = 0; i < ammo; i++) {
-					full += ammoChar;
-				}
-				String empty = "";
-				for (int i = 0; i < maxAmmo - ammo; i++) {
-					empty += ammoChar;
-				}
-				fancyStuff.sendActionBar(player,
-						LangManager.getMessage(this, "actionbar_ammo", color + full + ChatColor.BLACK + empty));
-			} else {
-				fancyStuff.sendActionBar(player, "");
-			}
+		UsableItem item = kit.getItem(player.getInventory().getHeldItemSlot());
+		if (item != null && item.getMaxAmmo() != 0) {
+			hud.setActionBar(Hud.getAmmoBar(this, item.getAmmo(), item.getMaxAmmo()));
+		} else {
+			hud.setActionBar("");
 		}
 	}
 
@@ -214,13 +252,18 @@ public class DefaultPlayer implements InGamePlayer {
 	
 	@Override
 	public void addTrigger(String name) {
+		addTrigger(Triggers.getId(name));
+	}
+	
+	@Override
+	public void addTrigger(int id) {
 		if (isPlaying()) {
-			triggers.add(name);
+			triggers.add(id);
 		}
 	}
 	
 	@Override
-	public List<String> getTriggers() {
+	public TriggerSet getTriggers() {
 		return triggers;
 	}
 	
@@ -272,15 +315,10 @@ public class DefaultPlayer implements InGamePlayer {
 				}
 			}
 		}
-		loop: for (Usage usage : damager.getSubUsages()) {
-			if (!usage.canUse(this)) {
+		for (Usage usage : damager.getSubUsages()) {
+			if (!usage.isActive(this, source == null ? this : source)) {
 				continue;
 			}
-			for (Activator activator : usage.getActivators()) {
-				if (!activator.isActive(this, source == null ? this : source)) {
-					continue loop;
-				}
-			}
 			for (Action action : usage.getActions()) {
 				action.act(this, source == null ? this : source);
 			}
@@ -304,24 +342,56 @@ public class DefaultPlayer implements InGamePlayer {
 				player.getInventory().getItemInMainHand().getType() == Material.AIR) {
 			return null;
 		}
-		int heldSlot = player.getInventory().getHeldItemSlot();
-		for (UsableItem item : kit.getItems()) {
-			if (item.slot() == heldSlot && isHolding(item)) {
-				return item;
-			}
-		}
-		return null;
+		UsableItem item = kit.getItem(player.getInventory().getHeldItemSlot());
+		return item != null && isHolding(item) ? item : null;
 	}
 	
 	@Override
 	public boolean isHolding(UsableItem item) {
-		ItemStack stack = player.getInventory().getItemInMainHand();
-		return item == null && stack == null || (item != null && stack != null && item.getItem(this).isSimilar(stack));
+		PlayerInventory inv = player.getInventory();
+		ItemStack stack = inv.getItemInMainHand();
+		return item == null && stack == null || (item != null && tagAt(inv.getHeldItemSlot(), stack) == item.getTag());
+	}
+	
+	/**
+	 * Returns the tag of the stack in the slot, reading it only if the slot
+	 * has changed since it was last seen.
+	 */
+	private long tagAt(int slot, ItemStack stack) {
+		ensureSlot(slot);
+		Material type = stack == null ? Material.AIR : stack.getType();
+		int amount = stack == null ? 0 : stack.getAmount();
+		if (slotTypes[slot] != type || slotAmounts[slot] != amount) {
+			slotTags[slot] = type == Material.AIR ? ItemTag.NONE : ItemTag.read(stack);
+			slotTypes[slot] = type;
+			slotAmounts[slot] = amount;
+		}
+		return slotTags[slot];
+	}
+	
+	private void ensureSlot(int slot) {
+		if (slot >= slotTags.length) {
+			int size = Math.max(slot + 1, player.getInventory().getSize());
+			slotTags = Arrays.copyOf(slotTags, size);
+			slotTypes = Arrays.copyOf(slotTypes, size);
+			slotAmounts = Arrays.copyOf(slotAmounts, size);
+		}
+	}
+	
+	/**
+	 * Remembers the tag written to the slot, so it doesn't need to be read.
+	 */
+	private void setTagAt(int slot, long tag, Material type, int amount) {
+		ensureSlot(slot);
+		slotTags[slot] = tag;
+		slotTypes[slot] = type;
+		slotAmounts[slot] = amount;
 	}
 	
 	@Override
 	public boolean isAccelerating() {
-		return player.isGliding() && player.isSneaking();
+		PlayerSnapshot snapshot = getSnapshot();
+		return snapshot.isGliding() && snapshot.isSneaking();
 	}
 	
 	@Override
@@ -336,12 +406,12 @@ public class DefaultPlayer implements InGamePlayer {
 		int slot = item.slot();
 		int amount = item.getAmount();
 		ItemStack stack = player.getInventory().getItem(slot);
-		ItemStack compare = item.getItem(this);
 		// if the stack was not on the correct slot or there was another item, find the correct one
-		if (stack == null || !stack.isSimilar(compare)) {
+		if (tagAt(slot, stack) != item.getTag()) {
+			stack = null;
 			ItemStack[] inv = player.getInventory().getContents();
 			for (int i = 0; i < inv.length; i++) {
-				if (inv[i] != null && compare.isSimilar(inv[i])) {
+				if (tagAt(i, inv[i]) == item.getTag()) {
 					stack = inv[i];
 					slot = i; // remember the current slot, so we can remove it
 					break;
@@ -383,9 +453,15 @@ public class DefaultPlayer implements InGamePlayer {
 	
 	@Override
 	public Location getLocation() {
-		return player.getLocation().toVector()
-			.midpoint(player.getEyeLocation().toVector())
-			.toLocation(player.getLocation().getWorld());
+		return getSnapshot().getCenter();
+	}
+	
+	@Override
+	public PlayerSnapshot getSnapshot() {
+		if (snapshot == null) {
+			snapshot = new PlayerSnapshot(this);
+		}
+		return snapshot;
 	}
 	
 	@Override
@@ -395,13 +471,7 @@ public class DefaultPlayer implements InGamePlayer {
 	
 	@Override
 	public double getWeight() {
-		double weight = 0;
-		weight += kit.getEngine().getWeight();
-		weight += kit.getWings().getWeight();
-		for (UsableItem item : kit.getItems()) {
-			weight += item.getWeight();
-		}
-		return weight;
+		return kit.getWeight();
 	}
 
 	@Override
@@ -431,33 +501,111 @@ public class DefaultPlayer implements InGamePlayer {
 	
 	@Override
 	public void updateKit() {
-		Engine engine = kit.getEngine();
-		Wings wings = kit.getWings();
-		List<UsableItem> items = kit.getItems();
-		player.getInventory().clear();
-		player.getInventory().setItemInOffHand(engine.getItem(this));
-		player.getInventory().setChestplate(wings.getItem(this));
-		for (UsableItem item : items) {
-			int amount = item.getAmount();
+		PlayerInventory inv = player.getInventory();
+		int size = inv.getSize();
+		if (shownItems == null || shownItems.length != size) {
+			shownItems = new Item[size];
+			shownAmounts = new int[size];
+			resync = true;
+		}
+		// lay out the kit the same way it will be in the inventory
+		Item[] items = new Item[size];
+		int[] amounts = new int[size];
+		if (kit.getEngine() != null) {
+			items[OFF_HAND_SLOT] = kit.getEngine();
+			amounts[OFF_HAND_SLOT] = 1;
+		}
+		if (kit.getWings() != null) {
+			items[CHEST_SLOT] = kit.getWings();
+			amounts[CHEST_SLOT] = 1;
+		}
+		List<UsableItem> noSlot = new ArrayList<>(0);
+		for (UsableItem item : kit.getItems()) {
 			int slot = item.slot();
-			ItemStack itemStack = item.getItem(this);
-			itemStack.setAmount(amount);
-			if (slot >= 0) {
-				player.getInventory().setItem(slot, itemStack);
+			if (slot >= 0 && slot < size) {
+				items[slot] = item;
+				amounts[slot] = item.getAmount();
 			} else {
-				ItemStack[] content = player.getInventory().getContents();
-				int i = 9;
-				while (i < 36) {
-					if (content[i] == null) {
-						content[i] = itemStack;
-						break;
-					}
+				noSlot.add(item);
+			}
+		}
+		// items without a slot go to the first free slot in the main inventory
+		int free = 9;
+		for (UsableItem item : noSlot) {
+			while (free < 36 && items[free] != null) {
+				free++;
+			}
+			if (free == 36) {
+				break;
+			}
+			items[free] = item;
+			amounts[free] = item.getAmount();
+		}
+		if (resync) {
+			// write the whole inventory from scratch
+			inv.clear();
+			Arrays.fill(shownItems, null);
+			Arrays.fill(shownAmounts, 0);
+			for (int slot = 0; slot < size; slot++) {
+				if (items[slot] != null && amounts[slot] > 0) {
+					writeSlot(inv, slot, items[slot], amounts[slot]);
+				}
+			}
+			resync = false;
+		} else {
+			BitSet changed = kit.getChangedSlots();
+			if (changed == null) {
+				for (int slot = 0; slot < size; slot++) {
+					syncSlot(inv, slot, items[slot], amounts[slot]);
 				}
-				player.getInventory().setContents(content);
+			} else {
+				// wings are moved between the chest and the second slot while flying
+				syncSlot(inv, CHEST_SLOT, items[CHEST_SLOT], amounts[CHEST_SLOT]);
+				syncSlot(inv, 1, items[1], amounts[1]);
+				for (int slot = changed.nextSetBit(0); slot >= 0 && slot < size; slot = changed.nextSetBit(slot + 1)) {
+					syncSlot(inv, slot, items[slot], amounts[slot]);
+				}
+			}
+		}
+		kit.clearChangedSlots();
+	}
+	
+	/**
+	 * Writes the item to the slot only if it differs from what was written
+	 * there last time or if the slot was changed outside of the kit.
+	 */
+	private void syncSlot(PlayerInventory inv, int slot, Item item, int amount) {
+		if (amount <= 0) {
+			item = null;
+			amount = 0;
+		}
+		if (shownItems[slot] == item && shownAmounts[slot] == amount) {
+			ItemStack stack = inv.getItem(slot);
+			boolean empty = stack == null || stack.getType() == Material.AIR;
+			if (item == null ? empty : !empty && stack.getAmount() == amount
+					&& stack.getType() == item.getTemplate(this).getType()) {
+				return;
 			}
 		}
+		writeSlot(inv, slot, item, amount);
 	}
 	
+	private void writeSlot(PlayerInventory inv, int slot, Item item, int amount) {
+		if (item == null || amount <= 0) {
+			inv.setItem(slot, null);
+			shownItems[slot] = null;
+			shownAmounts[slot] = 0;
+			setTagAt(slot, ItemTag.NONE, Material.AIR, 0);
+			return;
+		}
+		ItemStack stack = item.getItem(this);
+		stack.setAmount(amount);
+		inv.setItem(slot, stack);
+		shownItems[slot] = item;
+		shownAmounts[slot] = amount;
+		setTagAt(slot, item.getTag(), stack.getType(), amount);
+	}
+
 	@Override
 	public Attacker getAttacker() {
 		return lastHit;
@@ -493,24 +641,53 @@ public class DefaultPlayer implements InGamePlayer {
 	
 	@Override
 	public void updateColors(Map<String, ChatColor> map) {
-		List<String> colors = Arrays.asList(ChatColor.values()).stream()
-				.map(color -> color.name().toLowerCase()).collect(Collectors.toList());
-		for (Team team : sb.getTeams()) {
-			if (colors.contains(team.getName())) {
-				team.unregister();
+		// remove players who are not in the map anymore
+		for (ChatColor color : ChatColor.values()) {
+			Team team = sb.getTeam(COLOR_TEAMS[color.ordinal()]);
+			if (team == null) {
+				continue;
+			}
+			for (String entry : new ArrayList<>(team.getEntries())) {
+				if (map.get(entry) != color) {
+					team.removeEntry(entry);
+				}
 			}
 		}
 		for (Entry<String, ChatColor> e : map.entrySet()) {
-			String player = e.getKey();
-			ChatColor color = e.getValue();
-			String colorName = color.name().toLowerCase();
-			Team team = sb.getTeam(colorName);
-			if (team == null) {
-				team = sb.registerNewTeam(colorName);
+			updateColor(e.getKey(), e.getValue());
+		}
+	}
+	
+	@Override
+	public void updateColor(String name, ChatColor color) {
+		Team current = sb.getEntryTeam(name);
+		String colorName = color == null ? null : COLOR_TEAMS[color.ordinal()];
+		if (current != null) {
+			if (current.getName().equals(colorName)) {
+				return;
+			}
+			if (isColorTeam(current)) {
+				current.removeEntry(name);
 			}
-			team.addEntry(player.toString());
-			team.setPrefix(ChatColor.COLOR_CHAR + "" + color.getChar());
 		}
+		if (color == null) {
+			return;
+		}
+		Team team = sb.getTeam(colorName);
+		if (team == null) {
+			team = sb.registerNewTeam(colorName);
+			team.setPrefix(color.toString());
+		}
+		team.addEntry(name);
+	}
+	
+	private boolean isColorTeam(Team team) {
+		for (String name : COLOR_TEAMS) {
+			if (name.equals(team.getName())) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
@@ -520,7 +697,11 @@ public class DefaultPlayer implements InGamePlayer {
 	
 	@Override
 	public void clearPlayer() {
-		ticker.cancel();
+		Ticker ticker = game.getTicker();
+		ticker.unregister(Phase.INPUT, inputTicker);
+		ticker.unregister(Phase.FLIGHT, flightTicker);
+		ticker.unregister(Phase.ITEMS, itemsTicker);
+		ticker.unregister(Phase.HUD, hudTicker);
 		Utils.clearPlayer(player);
 		player.setScoreboard(oldSb);
 	}
@@ -564,62 +745,24 @@ public class DefaultPlayer implements InGamePlayer {
 	}
 	
 	private boolean hasWings() {
-		ItemStack wings = kit.getWings().getItem(this);
-		ItemStack chestPlate = player.getInventory().getChestplate();
-		if (chestPlate != null && chestPlate.isSimilar(wings)) {
-			return true;
-		}
-		ItemStack slot = player.getInventory().getItem(1);
-		if (slot != null && slot.isSimilar(wings)) {
-			return true;
-		}
-		return false;
+		Wings wings = kit.getWings();
+		PlayerInventory inv = player.getInventory();
+		return tagAt(CHEST_SLOT, inv.getChestplate()) == wings.getTag() ||
+				tagAt(1, inv.getItem(1)) == wings.getTag();
 	}
 	
 	private void updateStats() {
-		int i = 0;
-		for (SidebarLine line : Lists.reverse(lines)) {
-			String text = line.getText();
-			if (text.length() > 16) {
-				text = text.substring(0, 16);
-			}
-			setStatistic(i++, text);
-		}
-		while (i < ChatColor.values().length) {
-			setStatistic(i++, null);
-		}
-	}
-	
-	private void setStatistic(int index, String string) {
-		if (index >= ChatColor.values().length) {
-			return;
-		}
-		String name = ChatColor.values()[index].toString();
-		if (string != null) {
-			Score score = sb.getObjective(DisplaySlot.SIDEBAR).getScore(name);
-			score.setScore(index);
-			Team team = sb.getEntryTeam(name);
-			if (team == null) {
-				team = sb.registerNewTeam(name);
-				team.addEntry(name);
-			}
-			team.setPrefix(string);
-		} else {
-			sb.resetScores(name);
+		List<String> texts = new ArrayList<>(lines.size());
+		for (SidebarLine line : lines) {
+			texts.add(line.getText());
 		}
+		hud.setLines(texts);
 	}
 	
 	private void displayReloadingTime() {
-		int slot = player.getInventory().getHeldItemSlot();
-		UsableItem item = null;
-		for (UsableItem i : kit.getItems()) {
-			if (i.slot() == slot) {
-				item = i;
-				break;
-			}
-		}
+		UsableItem item = kit.getItem(player.getInventory().getHeldItemSlot());
 		if (item == null || item.getAmount() == 0) {
-			player.setExp(0.9999f);
+			hud.setExp(0.9999f);
 			return;
 		}
 		int ticks = item.getCooldown();
@@ -630,8 +773,7 @@ public class DefaultPlayer implements InGamePlayer {
 		} else {
 			amount = (float) (max - ticks) / (float) max;
 		}
-		player.setExp(amount);
-		
+		hud.setExp(amount);
 	}
 
 	private void createWings() {
@@ -654,13 +796,28 @@ public class DefaultPlayer implements InGamePlayer {
 		if (!isPlaying()) {
 			return;
 		}
-		// iterate over copied list to avoid concurrent modifications
-		List<UsableItem> copy = new ArrayList<>(kit.getItems());
-		for (UsableItem item : copy) {
+		// actions can change the kit while items are used, so they are
+		// iterated over a snapshot and consumed after the loop
+		List<UsableItem> items = kit.getItems();
+		int size = items.size();
+		if (usedItems.length < size) {
+			usedItems = new UsableItem[size];
+		}
+		items.toArray(usedItems);
+		List<UsableItem> consumed = null;
+		for (int i = 0; i < size; i++) {
+			UsableItem item = usedItems[i];
+			usedItems[i] = null;
 			if (item.use() && item.getAmmo() == 0 && item.isConsumable()) {
-				consumeItem(item);
+				if (consumed == null) {
+					consumed = new ArrayList<>(1);
+				}
+				consumed.add(item);
 			}
 		}
+		if (consumed != null) {
+			consumed.forEach(item -> consumeItem(item));
+		}
 	}
 
 }
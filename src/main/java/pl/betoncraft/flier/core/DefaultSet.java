@@ -39,7 +39,6 @@ import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Modification;
 import pl.betoncraft.flier.api.core.UsableItem;
 import pl.betoncraft.flier.util.LangManager;
-import pl.betoncraft.flier.util.ValueLoader;
 
 /**
  * A default implementation of ItemSet.
@@ -48,8 +47,6 @@ import pl.betoncraft.flier.util.ValueLoader;
  */
 public class DefaultSet implements ItemSet {
 	
-	protected ValueLoader loader;
-
 	protected String id;
 	protected String name;
 	protected String category;
@@ -58,36 +55,36 @@ public class DefaultSet implements ItemSet {
 	protected Engine engine;
 	protected Wings wings;
 	protected List<UsableItem> items = new ArrayList<>();
-	protected List<Modification> mods = new ArrayList<>();
+	protected List<Modification> mods;
 	protected boolean modsRemoved = false;
 
 	public DefaultSet(ConfigurationSection section, InGamePlayer owner) throws LoadingException {
+		this(new ItemSetDefinition(section), owner);
+	}
+
+	public DefaultSet(ItemSetDefinition definition, InGamePlayer owner) throws LoadingException {
 		Flier flier = Flier.getInstance();
-		id = section.getName();
-		loader = new ValueLoader(section);
-		name = loader.loadString("name", id);
-		category = loader.loadString("category");
-		className = Optional.ofNullable(section.getString("class_name", null));
-		String engineName = section.getString("engine");
+		id = definition.getID();
+		name = definition.getName();
+		category = definition.getCategory();
+		className = definition.getClassName();
+		String engineName = definition.getEngine();
 		if (engineName == null) {
 			engine = null;
 		} else {
 			engine = flier.getEngine(engineName);
 		}
-		String wingsName = section.getString("wings");
+		String wingsName = definition.getWings();
 		if (wingsName == null) {
 			wings = null;
 		} else {
 			wings = flier.getWing(wingsName);
 		}
-		List<String> itemNames = section.getStringList("items");
-		for (String itemName : itemNames) {
+		for (String itemName : definition.getItems()) {
 			items.add(flier.getItem(itemName, owner));
 		}
-		for (String modName : section.getStringList("modifications")) {
-			mods.add(flier.getModification(modName));
-		}
-		refills = loader.loadBoolean("refills", false);
+		mods = definition.getModifications();
+		refills = definition.refills();
 	}
 
 	@Override
@@ -24,7 +24,10 @@
 package pl.betoncraft.flier.core;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.bukkit.Bukkit;
@@ -32,14 +35,20 @@ import org.bukkit.configuration.ConfigurationSection;
 
 import pl.betoncraft.flier.api.content.Action;
 import pl.betoncraft.flier.api.content.Activator;
+import pl.betoncraft.flier.api.content.Activator.Wake;
+import pl.betoncraft.flier.api.content.Game;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.Item;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Modification;
 import pl.betoncraft.flier.api.core.Modification.ModificationTarget;
+import pl.betoncraft.flier.api.core.Owner;
 import pl.betoncraft.flier.api.core.UsableItem;
 import pl.betoncraft.flier.api.core.Usage;
 import pl.betoncraft.flier.event.FlierUseEvent;
+import pl.betoncraft.flier.util.ModificationManager;
+import pl.betoncraft.flier.util.TriggerSet;
+import pl.betoncraft.flier.util.Triggers;
 
 /**
  * Default implementation of UsableItem.
@@ -51,6 +60,12 @@ public class DefaultUsableItem extends DefaultItem implements UsableItem {
 	private static final String AMMO = "ammo";
 	private static final String CONSUMABLE = "consumable";
 
+	private static final int AMMO_ID = ModificationManager.getPropertyId(AMMO);
+	private static final int CONSUMABLE_ID = ModificationManager.getPropertyId(CONSUMABLE);
+	private static final int MAX_AMOUNT_ID = ModificationManager.getPropertyId("max_amount");
+	private static final int MIN_AMOUNT_ID = ModificationManager.getPropertyId("min_amount");
+	private static final int AMOUNT_ID = ModificationManager.getPropertyId("amount");
+
 	protected final InGamePlayer owner;
 	protected final int startingCooldown;
 	protected final boolean consumable;
@@ -60,36 +75,82 @@ public class DefaultUsableItem extends DefaultItem implements UsableItem {
 	protected final int maxAmount;
 	protected final int minAmount;
 
+	// indexes of usages which need to be checked every tick and of usages
+	// which can only be activated by a trigger
+	protected final int[] polled;
+	protected final int[][] byTrigger;
+
 	protected int amount;
-	protected int time;
+	protected int readyAt;
 	protected int whole;
 	protected int ammo;
 
 	public DefaultUsableItem(ConfigurationSection section, InGamePlayer owner) throws LoadingException {
-		super(section);
+		this(new UsableItemDefinition(section), owner);
+	}
+
+	public DefaultUsableItem(UsableItemDefinition definition, InGamePlayer owner) throws LoadingException {
+		super(definition);
 		this.owner = owner;
-		whole = time = startingCooldown = loader.loadNonNegativeInt("starting_cooldown", 0);
-		consumable = loader.loadBoolean(CONSUMABLE, false);
-		maxAmmo = loader.loadNonNegativeInt(AMMO, 0);
+		whole = startingCooldown = definition.getStartingCooldown();
+		readyAt = now() + startingCooldown;
+		consumable = definition.isConsumable();
+		maxAmmo = definition.getMaxAmmo();
 		ammo = maxAmmo;
-		defAmount = loader.loadPositiveInt("amount", 1);
-		maxAmount = loader.loadNonNegativeInt("max_amount", 0);
-		minAmount = loader.loadNonNegativeInt("min_amount", 0);
+		defAmount = definition.getDefAmount();
+		maxAmount = definition.getMaxAmount();
+		minAmount = definition.getMinAmount();
 		amount = defAmount;
-		ConfigurationSection usagesSection = section.getConfigurationSection("usages");
-		if (usagesSection != null) for (String id : usagesSection.getKeys(false)) {
-			ConfigurationSection usageSection = usagesSection.getConfigurationSection(id);
-			if (usageSection != null) try {
-				usages.add(new DefaultUsage(usageSection, Optional.of(new DefaultOwner(owner, this))));
+		Optional<Owner> usageOwner = Optional.of(new DefaultOwner(owner, this));
+		for (UsageDefinition usage : definition.getUsages()) {
+			try {
+				usages.add(new DefaultUsage(usage, usageOwner));
 			} catch (LoadingException e) {
-				throw (LoadingException) new LoadingException(String.format("Error in '%s' usage.", id)).initCause(e);
+				throw (LoadingException) new LoadingException(
+						String.format("Error in '%s' usage.", usage.getID())).initCause(e);
+			}
+		}
+		// usages with a trigger activator can't be active without that trigger,
+		// unless an activator counting its checks comes before it and has to
+		// be checked every tick
+		List<Integer> polled = new ArrayList<>();
+		Map<Integer, List<Integer>> byTrigger = new HashMap<>();
+		int maxTrigger = Triggers.NONE;
+		for (int i = 0; i < usages.size(); i++) {
+			int trigger = Triggers.NONE;
+			for (Activator activator : usages.get(i).getActivators()) {
+				Wake wake = activator.getWake();
+				if (wake == Wake.TRIGGER) {
+					trigger = activator.getTrigger();
+					break;
+				}
+				if (wake == Wake.INTERVAL || wake == Wake.ALWAYS) {
+					break;
+				}
+			}
+			if (trigger == Triggers.NONE) {
+				polled.add(i);
+			} else {
+				byTrigger.computeIfAbsent(trigger, k -> new ArrayList<>()).add(i);
+				maxTrigger = Math.max(maxTrigger, trigger);
 			}
 		}
+		this.polled = polled.stream().mapToInt(i -> i).toArray();
+		this.byTrigger = new int[maxTrigger + 1][];
+		byTrigger.forEach((trigger, list) -> this.byTrigger[trigger] = list.stream().mapToInt(i -> i).toArray());
+	}
+	
+	/**
+	 * @return the current tick of the owner's game, cooldowns are counted in it
+	 */
+	private int now() {
+		Game game = owner.getGame();
+		return game == null ? 0 : game.getTicker().getCurrentTick();
 	}
 
 	@Override
 	public boolean isReady() {
-		return time == 0;
+		return now() >= readyAt;
 	}
 
 	@Override
@@ -99,17 +160,17 @@ public class DefaultUsableItem extends DefaultItem implements UsableItem {
 
 	@Override
 	public int getCooldown() {
-		return time;
+		return Math.max(0, readyAt - now());
 	}
 	
 	@Override
 	public boolean isConsumable() {
-		return modMan.modifyBoolean(CONSUMABLE, consumable);
+		return modMan.modifyBoolean(CONSUMABLE_ID, consumable);
 	}
 
 	@Override
 	public int getMaxAmmo() {
-		return (int) modMan.modifyNumber(AMMO, maxAmmo);
+		return (int) modMan.modifyNumber(AMMO_ID, maxAmmo);
 	}
 
 	@Override
@@ -155,17 +216,17 @@ public class DefaultUsableItem extends DefaultItem implements UsableItem {
 	
 	@Override
 	public int getMaxAmount() {
-		return (int) modMan.modifyNumber("max_amount", maxAmount);
+		return (int) modMan.modifyNumber(MAX_AMOUNT_ID, maxAmount);
 	}
 	
 	@Override
 	public int getMinAmount() {
-		return (int) modMan.modifyNumber("min_amount", minAmount);
+		return (int) modMan.modifyNumber(MIN_AMOUNT_ID, minAmount);
 	}
 	
 	@Override
 	public int getDefAmount() {
-		return (int) modMan.modifyNumber("amount", defAmount);
+		return (int) modMan.modifyNumber(AMOUNT_ID, defAmount);
 	}
 
 	@Override
@@ -175,44 +236,66 @@ public class DefaultUsableItem extends DefaultItem implements UsableItem {
 
 	@Override
 	public boolean use() {
-		if (time > 0) {
-			time--;
+		int now = now();
+		if (now < readyAt) {
+			return false;
 		}
-		boolean used = false;
-		if (isReady()) {
-			usages:
-			for (Usage usage : usages) {
-				if (!usage.canUse(owner)) {
-					continue;
-				}
-				if (getMaxAmmo() > 0 && ammo - usage.getAmmoUse() < 0) {
-					continue;
-				}
-				for (Activator activator : usage.getActivators()) {
-					if (!activator.isActive(owner, owner)) {
-						continue usages;
-					}
-				}
-				FlierUseEvent event = new FlierUseEvent(owner, this, usage);
-				Bukkit.getPluginManager().callEvent(event);
-				if (event.isCancelled()) {
-					continue;
-				}
-				used = true;
-				int cooldown = usage.getCooldown();
-				if (time < cooldown) {
-					time = cooldown;
-					whole = time;
-				}
-				setAmmo(ammo - usage.getAmmoUse());
-				for (Action action : usage.getActions()) {
-					action.act(owner, owner);
+		TriggerSet triggers = owner.getTriggers();
+		if (triggers.isEmpty()) {
+			// the usual case, only polled usages can be active
+			if (polled.length == 0) {
+				return false;
+			}
+			boolean used = false;
+			for (int i : polled) {
+				used |= use(usages.get(i), now);
+			}
+			return used;
+		}
+		// collect usages woken up by triggers, keeping their order
+		BitSet candidates = new BitSet(usages.size());
+		for (int i : polled) {
+			candidates.set(i);
+		}
+		for (int trigger = triggers.next(0); trigger >= 0 && trigger < byTrigger.length; trigger = triggers.next(trigger + 1)) {
+			int[] woken = byTrigger[trigger];
+			if (woken != null) {
+				for (int i : woken) {
+					candidates.set(i);
 				}
 			}
 		}
+		boolean used = false;
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			used |= use(usages.get(i), now);
+		}
 		return used;
 	}
 	
+	private boolean use(Usage usage, int now) {
+		if (getMaxAmmo() > 0 && ammo - usage.getAmmoUse() < 0) {
+			return false;
+		}
+		if (!usage.isActive(owner, owner)) {
+			return false;
+		}
+		FlierUseEvent event = new FlierUseEvent(owner, this, usage);
+		Bukkit.getPluginManager().callEvent(event);
+		if (event.isCancelled()) {
+			return false;
+		}
+		int cooldown = usage.getCooldown();
+		if (readyAt < now + cooldown) {
+			readyAt = now + cooldown;
+			whole = cooldown;
+		}
+		setAmmo(ammo - usage.getAmmoUse());
+		for (Action action : usage.getActions()) {
+			action.act(owner, owner);
+		}
+		return true;
+	}
+	
 	@Override
 	public boolean isSimilar(Item item) {
 		if (item instanceof DefaultUsableItem && super.isSimilar(item)) {
@@ -227,7 +310,7 @@ public class DefaultUsableItem extends DefaultItem implements UsableItem {
 	@Override
 	public void refill() {
 		ammo = getMaxAmmo();
-		time = startingCooldown;
+		readyAt = now() + startingCooldown;
 		whole = startingCooldown;
 	}
 
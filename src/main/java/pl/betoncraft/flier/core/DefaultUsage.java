@@ -39,7 +39,7 @@ import pl.betoncraft.flier.api.core.Owner;
 import pl.betoncraft.flier.api.core.Usage;
 import pl.betoncraft.flier.util.LangManager;
 import pl.betoncraft.flier.util.Position;
-import pl.betoncraft.flier.util.ValueLoader;
+import pl.betoncraft.flier.util.UsagePlan;
 
 /**
  * Default implementation of Usage.
@@ -50,28 +50,32 @@ public class DefaultUsage implements Usage {
 	
 	protected final String id;
 	protected final String name;
-	protected final ValueLoader loader;
 	
 	protected int cooldown;
 	protected int ammoUse;
 	protected final Usage.Where where;
 	protected List<Activator> activators = new ArrayList<>();
 	protected List<Action> actions = new ArrayList<>();
+	protected final UsagePlan plan;
 	
 	public DefaultUsage(ConfigurationSection section, Optional<Owner> owner) throws LoadingException {
-		id = section.getName();
-		loader = new ValueLoader(section);
-		name = loader.loadString("name", id);
-		cooldown = loader.loadNonNegativeInt("cooldown", 0);
-		ammoUse = loader.loadInt("ammo_use", 0);
-		where = loader.loadEnum("where", Usage.Where.EVERYWHERE, Usage.Where.class);
+		this(new UsageDefinition(section), owner);
+	}
+	
+	public DefaultUsage(UsageDefinition definition, Optional<Owner> owner) throws LoadingException {
+		id = definition.getID();
+		name = definition.getName();
+		cooldown = definition.getCooldown();
+		ammoUse = definition.getAmmoUse();
+		where = definition.getWhere();
 		Flier flier = Flier.getInstance();
-		for (String activator : section.getStringList("activators")) {
+		for (String activator : definition.getActivators()) {
 			activators.add(flier.getActivator(activator, owner));
 		}
-		for (String action : section.getStringList("actions")) {
+		for (String action : definition.getActions()) {
 			actions.add(flier.getAction(action, owner));
 		}
+		plan = new UsagePlan(this, activators);
 	}
 
 	@Override
@@ -111,7 +115,17 @@ public class DefaultUsage implements Usage {
 
 	@Override
 	public boolean canUse(InGamePlayer player) {
-		return Position.check(player.getPlayer(), where);
+		return Position.check(player, where);
+	}
+	
+	@Override
+	public boolean isActive(InGamePlayer player, InGamePlayer source) {
+		return plan.check(player, source);
+	}
+	
+	@Override
+	public UsagePlan getPlan() {
+		return plan;
 	}
 
 	@Override
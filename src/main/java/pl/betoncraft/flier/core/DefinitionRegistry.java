@@ -0,0 +1,361 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import pl.betoncraft.flier.api.Flier;
+import pl.betoncraft.flier.api.Flier.ActionFactory;
+import pl.betoncraft.flier.api.Flier.ActivatorFactory;
+import pl.betoncraft.flier.api.Flier.BonusFactory;
+import pl.betoncraft.flier.api.Flier.EffectFactory;
+import pl.betoncraft.flier.api.Flier.EngineFactory;
+import pl.betoncraft.flier.api.Flier.GameFactory;
+import pl.betoncraft.flier.api.Flier.LobbyFactory;
+import pl.betoncraft.flier.api.Flier.WingsFactory;
+import pl.betoncraft.flier.api.core.ConfigManager;
+import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Modification;
+import pl.betoncraft.flier.api.core.Owner;
+import pl.betoncraft.flier.util.DummyPlayer;
+import pl.betoncraft.flier.util.Utils;
+
+/**
+ * Keeps definitions of all content from the configuration files. Every
+ * definition is parsed and validated once, when the plugin is reloaded, so
+ * creating objects later doesn't need to look anything up in YAML. Broken
+ * definitions keep their errors, which are thrown when they are requested.
+ * Games and bonuses need a lobby and a game to be created, so they are
+ * validated by lobbies instead.
+ *
+ * @author Jakub Sapalski
+ */
+public class DefinitionRegistry {
+
+	private final Flier flier;
+
+	private final Map<String, Entry<Definition<LobbyFactory>>> lobbies = new HashMap<>();
+	private final Map<String, Entry<Definition<EngineFactory>>> engines = new HashMap<>();
+	private final Map<String, Entry<Definition<WingsFactory>>> wings = new HashMap<>();
+	private final Map<String, Entry<Definition<GameFactory>>> games = new HashMap<>();
+	private final Map<String, Entry<Definition<BonusFactory>>> bonuses = new HashMap<>();
+	private final Map<String, Entry<Definition<ActionFactory>>> actions = new HashMap<>();
+	private final Map<String, Entry<Definition<ActivatorFactory>>> activators = new HashMap<>();
+	private final Map<String, Entry<Definition<EffectFactory>>> effects = new HashMap<>();
+	private final Map<String, Entry<Modification>> modifications = new HashMap<>();
+	private final Map<String, Entry<UsableItemDefinition>> items = new HashMap<>();
+	private final Map<String, Entry<ItemSetDefinition>> sets = new HashMap<>();
+	private final Map<String, Entry<ConfigurationSection>> arenas = new HashMap<>();
+
+	/**
+	 * Definition of an object created by a factory of its type.
+	 *
+	 * @param <F>
+	 *            type of the factory
+	 */
+	public static class Definition<F> {
+
+		private final String id;
+		private final String type;
+		private final ConfigurationSection section;
+		private final F factory;
+
+		private Definition(String id, String type, ConfigurationSection section, F factory) {
+			this.id = id;
+			this.type = type;
+			this.section = section;
+			this.factory = factory;
+		}
+
+		public String getID() {
+			return id;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public ConfigurationSection getSection() {
+			return section;
+		}
+
+		public F getFactory() {
+			return factory;
+		}
+
+	}
+
+	private static class Entry<T> {
+		private T value;
+		private LoadingException error;
+	}
+
+	private interface Check<T> {
+		public void check(T value) throws LoadingException;
+	}
+
+	/**
+	 * Creates an empty registry.
+	 * 
+	 * @param flier
+	 *            the plugin with registered factories
+	 */
+	public DefinitionRegistry(Flier flier) {
+		this.flier = flier;
+	}
+
+	/**
+	 * Parses all definitions from the configuration files. Modifications are
+	 * loaded first, then everything created by factories, items, item sets
+	 * and arenas. When all of them are known, content created by factories is
+	 * built once to validate it and references between definitions are
+	 * checked.
+	 * 
+	 * @param config
+	 *            configuration files
+	 */
+	public void load(ConfigManager config) {
+		for (String id : config.getModifications().getKeys(false)) {
+			Entry<Modification> entry = new Entry<>();
+			try {
+				ConfigurationSection section = getSection(config.getModifications(), id, "modification");
+				try {
+					entry.value = new DefaultModification(section);
+				} catch (LoadingException e) {
+					throw loadingError(e, id, "modification");
+				}
+			} catch (LoadingException e) {
+				entry.error = e;
+			}
+			modifications.put(id, entry);
+		}
+		loadTyped(config.getLobbies(), "lobby", lobbies, flier::getLobbyFactory);
+		loadTyped(config.getEngines(), "engine", engines, flier::getEngineFactory);
+		loadTyped(config.getWings(), "wings", wings, flier::getWingsFactory);
+		loadTyped(config.getGames(), "game", games, flier::getGameFactory);
+		loadTyped(config.getBonuses(), "bonus", bonuses, flier::getBonusFactory);
+		loadTyped(config.getActions(), "action", actions, flier::getActionFactory);
+		loadTyped(config.getActivators(), "activator", activators, flier::getActivatorFactory);
+		loadTyped(config.getEffects(), "effect", effects, flier::getEffectFactory);
+		for (String id : config.getItems().getKeys(false)) {
+			Entry<UsableItemDefinition> entry = new Entry<>();
+			try {
+				ConfigurationSection section = getSection(config.getItems(), id, "item");
+				try {
+					entry.value = new UsableItemDefinition(section);
+				} catch (LoadingException e) {
+					throw loadingError(e, id, "item");
+				}
+			} catch (LoadingException e) {
+				entry.error = e;
+			}
+			items.put(id, entry);
+		}
+		for (String id : config.getItemSets().getKeys(false)) {
+			Entry<ItemSetDefinition> entry = new Entry<>();
+			try {
+				ConfigurationSection section = getSection(config.getItemSets(), id, "item set");
+				try {
+					entry.value = new ItemSetDefinition(section);
+				} catch (LoadingException e) {
+					throw loadingError(e, id, "item set");
+				}
+			} catch (LoadingException e) {
+				entry.error = e;
+			}
+			sets.put(id, entry);
+		}
+		for (String id : config.getArenas().getKeys(false)) {
+			Entry<ConfigurationSection> entry = new Entry<>();
+			try {
+				entry.value = getSection(config.getArenas(), id, "arena");
+			} catch (LoadingException e) {
+				entry.error = e;
+			}
+			arenas.put(id, entry);
+		}
+		// build everything once, actions and activators need an owner
+		// and some of them create items, so all items must be known by now
+		Optional<Owner> owner = Optional.of(new DefaultOwner(new DummyPlayer(), null));
+		check(engines, "engine", d -> d.getFactory().get(d.getSection()));
+		check(wings, "wings", d -> d.getFactory().get(d.getSection()));
+		check(effects, "effect", d -> d.getFactory().get(d.getSection()));
+		check(activators, "activator", d -> d.getFactory().get(d.getSection(), owner));
+		check(actions, "action", d -> d.getFactory().get(d.getSection(), owner));
+		// check if all actions and activators referenced by items exist
+		check(items, "item", item -> {
+			for (UsageDefinition usage : item.getUsages()) {
+				try {
+					for (String activator : usage.getActivators()) {
+						getActivator(activator);
+					}
+					for (String action : usage.getActions()) {
+						getAction(action);
+					}
+				} catch (LoadingException e) {
+					throw (LoadingException) new LoadingException(
+							String.format("Error in '%s' usage.", usage.getID())).initCause(e);
+				}
+			}
+		});
+		// check if all content referenced by item sets exists
+		check(sets, "item set", set -> {
+			if (set.getEngine() != null) {
+				getEngine(set.getEngine());
+			}
+			if (set.getWings() != null) {
+				getWings(set.getWings());
+			}
+			for (String item : set.getItems()) {
+				getItem(item);
+			}
+		});
+	}
+
+	public Definition<LobbyFactory> getLobby(String id) throws LoadingException {
+		return get(lobbies, id, "lobby");
+	}
+
+	public Definition<EngineFactory> getEngine(String id) throws LoadingException {
+		return get(engines, id, "engine");
+	}
+
+	public Definition<WingsFactory> getWings(String id) throws LoadingException {
+		return get(wings, id, "wings");
+	}
+
+	public Definition<GameFactory> getGame(String id) throws LoadingException {
+		return get(games, id, "game");
+	}
+
+	public Definition<BonusFactory> getBonus(String id) throws LoadingException {
+		return get(bonuses, id, "bonus");
+	}
+
+	public Definition<ActionFactory> getAction(String id) throws LoadingException {
+		return get(actions, id, "action");
+	}
+
+	public Definition<ActivatorFactory> getActivator(String id) throws LoadingException {
+		return get(activators, id, "activator");
+	}
+
+	public Definition<EffectFactory> getEffect(String id) throws LoadingException {
+		return get(effects, id, "effect");
+	}
+
+	public Modification getModification(String id) throws LoadingException {
+		return get(modifications, id, "modification");
+	}
+
+	public UsableItemDefinition getItem(String id) throws LoadingException {
+		return get(items, id, "item");
+	}
+
+	public ItemSetDefinition getItemSet(String id) throws LoadingException {
+		return get(sets, id, "item set");
+	}
+
+	public ConfigurationSection getArena(String id) throws LoadingException {
+		return get(arenas, id, "arena");
+	}
+
+	private <F> void loadTyped(ConfigurationSection file, String name, Map<String, Entry<Definition<F>>> map,
+			Function<String, F> factories) {
+		for (String id : file.getKeys(false)) {
+			Entry<Definition<F>> entry = new Entry<>();
+			try {
+				ConfigurationSection section = getSection(file, id, name);
+				String type = section.getString("type");
+				if (type == null) {
+					throw new LoadingException("Type is not defined.");
+				}
+				F factory = factories.apply(type);
+				if (factory == null) {
+					throw new LoadingException(String.format("%s type '%s' does not exist.", Utils.capitalize(name), type));
+				}
+				entry.value = new Definition<>(id, type, section, factory);
+			} catch (LoadingException e) {
+				entry.error = e;
+			}
+			map.put(id, entry);
+		}
+	}
+
+	private <T> void check(Map<String, Entry<T>> map, String name, Check<T> check) {
+		for (Map.Entry<String, Entry<T>> e : map.entrySet()) {
+			Entry<T> entry = e.getValue();
+			if (entry.error != null) {
+				continue;
+			}
+			try {
+				check.check(entry.value);
+			} catch (LoadingException ex) {
+				entry.value = null;
+				entry.error = loadingError(ex, e.getKey(), name);
+			}
+		}
+	}
+
+	private <T> T get(Map<String, Entry<T>> map, String id, String name) throws LoadingException {
+		Entry<T> entry = map.get(id);
+		if (entry == null) {
+			throw new LoadingException(String.format("%s with ID '%s' does not exist.", Utils.capitalize(name), id));
+		}
+		if (entry.error != null) {
+			throw entry.error;
+		}
+		return entry.value;
+	}
+
+	private ConfigurationSection getSection(ConfigurationSection file, String id, String name) throws LoadingException {
+		ConfigurationSection section = file.getConfigurationSection(id);
+		if (section == null || section.getKeys(false).size() == 0) {
+			throw new LoadingException(String.format("%s with ID '%s' does not exist.", Utils.capitalize(name), id));
+		}
+		return section;
+	}
+
+	/**
+	 * Wraps the error with information about the definition in which it
+	 * happened.
+	 * 
+	 * @param e
+	 *            the original error
+	 * @param id
+	 *            ID of the definition
+	 * @param name
+	 *            name of the definition type
+	 * @return the wrapped error
+	 */
+	public static LoadingException loadingError(LoadingException e, String id, String name) {
+		return (LoadingException) new LoadingException(String.format("Error in '%s' %s.", id, name)).initCause(e);
+	}
+
+}
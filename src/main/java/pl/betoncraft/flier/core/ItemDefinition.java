@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.core;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.util.ItemTag;
+import pl.betoncraft.flier.util.LangManager;
+import pl.betoncraft.flier.util.ValueLoader;
+
+/**
+ * Immutable, parsed definition of an item, shared by all instances of that
+ * item.
+ *
+ * @author Jakub Sapalski
+ */
+public class ItemDefinition {
+
+	protected final ValueLoader loader;
+
+	protected final String id;
+	protected final String name;
+	protected final Material material;
+	protected final String rawName;
+	protected final List<String> rawLore;
+	protected final double weight;
+	protected final int slot;
+	protected final int tag;
+
+	// ItemStacks with translated name and lore, per language
+	private final Map<String, ItemStack> templates = new HashMap<>();
+
+	public ItemDefinition(ConfigurationSection section) throws LoadingException {
+		id = section.getName();
+		loader = new ValueLoader(section);
+		name = loader.loadString("name", id);
+		material = loader.loadEnum("material", Material.class);
+		rawName = loader.loadString("name");
+		rawLore = Collections.unmodifiableList(section.getStringList("lore"));
+		weight = loader.loadDouble("weight", 0.0);
+		slot = loader.loadInt("slot", -1);
+		tag = ItemTag.getNumber(id + ':' + material + ':' + rawName);
+	}
+
+	/**
+	 * @return the loader of the section from which this item was parsed
+	 */
+	public ValueLoader getLoader() {
+		return loader;
+	}
+
+	public String getID() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Material getMaterial() {
+		return material;
+	}
+
+	public String getRawName() {
+		return rawName;
+	}
+
+	public List<String> getRawLore() {
+		return rawLore;
+	}
+
+	public double getWeight() {
+		return weight;
+	}
+
+	public int getSlot() {
+		return slot;
+	}
+
+	/**
+	 * @return the number with which ItemStacks of this item are tagged
+	 */
+	public int getTag() {
+		return tag;
+	}
+
+	/**
+	 * Returns the ItemStack of this item translated to the language. It's
+	 * built once per language and shared, so it must not be modified.
+	 * 
+	 * @param lang
+	 *            the language of name and lore
+	 * @return the shared ItemStack of this item
+	 */
+	@SuppressWarnings("deprecation")
+	public ItemStack getTemplate(String lang) {
+		ItemStack item = templates.get(lang);
+		if (item != null) {
+			return item;
+		}
+		String name = rawName.startsWith("$") ?
+				LangManager.getMessage(lang, rawName.substring(1)) :
+				ChatColor.translateAlternateColorCodes('&', rawName);
+		List<String> lore = rawLore.stream()
+				.map(s -> s.startsWith("$") ?
+						LangManager.getMessage(lang, s.substring(1)) :
+						ChatColor.translateAlternateColorCodes('&', s))
+				.collect(Collectors.toList());
+		item = new ItemStack(material);
+		ItemMeta meta = item.getItemMeta();
+		meta.setDisplayName(name);
+		meta.setLore(lore);
+		try {
+			meta.setUnbreakable(true);
+		} catch (NoSuchMethodError e) {
+			meta.spigot().setUnbreakable(true);
+		}
+		item.setItemMeta(meta);
+		ItemTag.tag(item, ItemTag.of(tag, 0));
+		templates.put(lang, item);
+		return item;
+	}
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import pl.betoncraft.flier.api.Flier;
+import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Modification;
+import pl.betoncraft.flier.util.ValueLoader;
+
+/**
+ * Immutable, parsed definition of an item set, shared by all instances of
+ * that set.
+ *
+ * @author Jakub Sapalski
+ */
+public class ItemSetDefinition {
+
+	protected final String id;
+	protected final String name;
+	protected final String category;
+	protected final Optional<String> className;
+	protected final boolean refills;
+	protected final String engine;
+	protected final String wings;
+	protected final List<String> items;
+	protected final List<Modification> mods;
+
+	public ItemSetDefinition(ConfigurationSection section) throws LoadingException {
+		Flier flier = Flier.getInstance();
+		id = section.getName();
+		ValueLoader loader = new ValueLoader(section);
+		name = loader.loadString("name", id);
+		category = loader.loadString("category");
+		className = Optional.ofNullable(section.getString("class_name", null));
+		engine = section.getString("engine");
+		wings = section.getString("wings");
+		items = Collections.unmodifiableList(section.getStringList("items"));
+		List<Modification> mods = new ArrayList<>();
+		for (String modName : section.getStringList("modifications")) {
+			mods.add(flier.getModification(modName));
+		}
+		this.mods = Collections.unmodifiableList(mods);
+		refills = loader.loadBoolean("refills", false);
+	}
+
+	public String getID() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public Optional<String> getClassName() {
+		return className;
+	}
+
+	public boolean refills() {
+		return refills;
+	}
+
+	/**
+	 * @return ID of the engine or null if the set has no engine
+	 */
+	public String getEngine() {
+		return engine;
+	}
+
+	/**
+	 * @return ID of the wings or null if the set has no wings
+	 */
+	public String getWings() {
+		return wings;
+	}
+
+	/**
+	 * @return IDs of items in this set
+	 */
+	public List<String> getItems() {
+		return items;
+	}
+
+	/**
+	 * @return modifications applied by this set
+	 */
+	public List<Modification> getModifications() {
+		return mods;
+	}
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import pl.betoncraft.flier.api.core.LoadingException;
+
+/**
+ * Immutable, parsed definition of a usable item. Each player gets a
+ * DefaultUsableItem which keeps only its own state and refers to this
+ * definition for everything else.
+ *
+ * @author Jakub Sapalski
+ */
+public class UsableItemDefinition extends ItemDefinition {
+
+	protected final int startingCooldown;
+	protected final boolean consumable;
+	protected final int maxAmmo;
+	protected final int defAmount;
+	protected final int maxAmount;
+	protected final int minAmount;
+	protected final List<UsageDefinition> usages;
+
+	public UsableItemDefinition(ConfigurationSection section) throws LoadingException {
+		super(section);
+		startingCooldown = loader.loadNonNegativeInt("starting_cooldown", 0);
+		consumable = loader.loadBoolean("consumable", false);
+		maxAmmo = loader.loadNonNegativeInt("ammo", 0);
+		defAmount = loader.loadPositiveInt("amount", 1);
+		maxAmount = loader.loadNonNegativeInt("max_amount", 0);
+		minAmount = loader.loadNonNegativeInt("min_amount", 0);
+		List<UsageDefinition> usages = new ArrayList<>();
+		ConfigurationSection usagesSection = section.getConfigurationSection("usages");
+		if (usagesSection != null) for (String id : usagesSection.getKeys(false)) {
+			ConfigurationSection usageSection = usagesSection.getConfigurationSection(id);
+			if (usageSection != null) try {
+				usages.add(new UsageDefinition(usageSection));
+			} catch (LoadingException e) {
+				throw (LoadingException) new LoadingException(String.format("Error in '%s' usage.", id)).initCause(e);
+			}
+		}
+		this.usages = Collections.unmodifiableList(usages);
+	}
+
+	public int getStartingCooldown() {
+		return startingCooldown;
+	}
+
+	public boolean isConsumable() {
+		return consumable;
+	}
+
+	public int getMaxAmmo() {
+		return maxAmmo;
+	}
+
+	public int getDefAmount() {
+		return defAmount;
+	}
+
+	public int getMaxAmount() {
+		return maxAmount;
+	}
+
+	public int getMinAmount() {
+		return minAmount;
+	}
+
+	public List<UsageDefinition> getUsages() {
+		return usages;
+	}
+
+}
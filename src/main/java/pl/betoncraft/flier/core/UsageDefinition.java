@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.core;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Usage;
+import pl.betoncraft.flier.util.ValueLoader;
+
+/**
+ * Immutable, parsed definition of a usage, shared by all instances of that
+ * usage.
+ *
+ * @author Jakub Sapalski
+ */
+public class UsageDefinition {
+
+	protected final String id;
+	protected final String name;
+	protected final int cooldown;
+	protected final int ammoUse;
+	protected final Usage.Where where;
+	protected final List<String> activators;
+	protected final List<String> actions;
+
+	public UsageDefinition(ConfigurationSection section) throws LoadingException {
+		id = section.getName();
+		ValueLoader loader = new ValueLoader(section);
+		name = loader.loadString("name", id);
+		cooldown = loader.loadNonNegativeInt("cooldown", 0);
+		ammoUse = loader.loadInt("ammo_use", 0);
+		where = loader.loadEnum("where", Usage.Where.EVERYWHERE, Usage.Where.class);
+		activators = Collections.unmodifiableList(section.getStringList("activators"));
+		actions = Collections.unmodifiableList(section.getStringList("actions"));
+	}
+
+	public String getID() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getCooldown() {
+		return cooldown;
+	}
+
+	public int getAmmoUse() {
+		return ammoUse;
+	}
+
+	public Usage.Where getWhere() {
+		return where;
+	}
+
+	/**
+	 * @return IDs of activators of this usage
+	 */
+	public List<String> getActivators() {
+		return activators;
+	}
+
+	/**
+	 * @return IDs of actions of this usage
+	 */
+	public List<String> getActions() {
+		return actions;
+	}
+
+}
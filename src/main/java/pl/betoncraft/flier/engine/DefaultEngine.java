@@ -29,6 +29,7 @@ import pl.betoncraft.flier.api.content.Engine;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Modification;
 import pl.betoncraft.flier.core.DefaultItem;
+import pl.betoncraft.flier.util.ModificationManager;
 
 /**
  * Default Engine implementation.
@@ -41,6 +42,10 @@ public abstract class DefaultEngine extends DefaultItem implements Engine {
 	private static final String CONSUMPTION = "consumption";
 	private static final String MAX_FUEL = "max_fuel";
 
+	private static final int REGENERATION_ID = ModificationManager.getPropertyId(REGENERATION);
+	private static final int CONSUMPTION_ID = ModificationManager.getPropertyId(CONSUMPTION);
+	private static final int MAX_FUEL_ID = ModificationManager.getPropertyId(MAX_FUEL);
+
 	protected final double maxFuel;
 	protected final double consumption;
 	protected final double regeneration;
@@ -57,17 +62,17 @@ public abstract class DefaultEngine extends DefaultItem implements Engine {
 
 	@Override
 	public double getMaxFuel() {
-		return modMan.modifyNumber(MAX_FUEL, maxFuel);
+		return modMan.modifyNumber(MAX_FUEL_ID, maxFuel);
 	}
 
 	@Override
 	public double getConsumption() {
-		return modMan.modifyNumber(CONSUMPTION, consumption);
+		return modMan.modifyNumber(CONSUMPTION_ID, consumption);
 	}
 
 	@Override
 	public double getRegeneration() {
-		return modMan.modifyNumber(REGENERATION, regeneration);
+		return modMan.modifyNumber(REGENERATION_ID, regeneration);
 	}
 
 	@Override
@@ -28,6 +28,7 @@ import org.bukkit.util.Vector;
 
 import pl.betoncraft.flier.api.core.Item;
 import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.util.ModificationManager;
 
 /**
  * Engine which multiplies speed instead of adding a fixed acceleration.
@@ -40,6 +41,10 @@ public class MultiplyingEngine extends DefaultEngine {
 	private static final String MIN_SPEED = "min_speed";
 	private static final String MAX_SPEED = "max_speed";
 
+	private static final int ACCELERATION_ID = ModificationManager.getPropertyId(ACCELERATION);
+	private static final int MIN_SPEED_ID = ModificationManager.getPropertyId(MIN_SPEED);
+	private static final int MAX_SPEED_ID = ModificationManager.getPropertyId(MAX_SPEED);
+
 	private final double maxSpeed;
 	private final double minSpeed;
 	private final double acceleration;
@@ -54,15 +59,15 @@ public class MultiplyingEngine extends DefaultEngine {
 	@Override
 	public Vector launch(Vector velocity, Vector direction) {
 		double speed = velocity.length();
-		if (speed > modMan.modifyNumber(MAX_SPEED, maxSpeed)) {
+		if (speed > modMan.modifyNumber(MAX_SPEED_ID, maxSpeed)) {
 			speed = 0;
 		} else {
-			double minSpeed = modMan.modifyNumber(MIN_SPEED, this.minSpeed);
+			double minSpeed = modMan.modifyNumber(MIN_SPEED_ID, this.minSpeed);
 			if (speed < minSpeed) {
 				speed = minSpeed;
 			}
 		}
-		return velocity.add(direction.multiply(speed * modMan.modifyNumber(ACCELERATION, acceleration)));
+		return velocity.add(direction.multiply(speed * modMan.modifyNumber(ACCELERATION_ID, acceleration)));
 	}
 	
 	@Override
@@ -175,6 +175,9 @@ public class DeathMatchGame extends DefaultGame {
 		super.removePlayer(player);
 		colors.remove(player.getName());
 		scores.remove(player.getUniqueId());
+		for (InGamePlayer p : dataMap.values()) {
+			p.updateColor(player.getName(), null);
+		}
 	}
 
 	@Override
@@ -245,8 +248,11 @@ public class DeathMatchGame extends DefaultGame {
 			player.getLines().add(new ScoreLine(player));
 			player.getLines().add(new BestScoreLine(player));
 			for (InGamePlayer p : dataMap.values()) {
-				p.updateColors(getColors());
+				if (p != player) {
+					p.updateColor(player.getPlayer().getName(), color);
+				}
 			}
+			player.updateColors(getColors());
 		}
 		player.getPlayer().teleport(locations.get(spawnCounter++ % locations.size()));
 		FlierPlayerSpawnEvent event = new FlierPlayerSpawnEvent(player);
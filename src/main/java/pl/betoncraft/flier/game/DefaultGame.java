@@ -75,6 +75,8 @@ import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.NoArenaException;
 import pl.betoncraft.flier.api.core.SetApplier;
 import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.Ticker.Tickable;
 import pl.betoncraft.flier.core.DefaultKit;
 import pl.betoncraft.flier.core.DefaultPlayer;
 import pl.betoncraft.flier.event.FlierClickButtonEvent;
@@ -92,12 +94,20 @@ import pl.betoncraft.flier.sidebar.Health;
 import pl.betoncraft.flier.sidebar.Money;
 import pl.betoncraft.flier.sidebar.Speed;
 import pl.betoncraft.flier.sidebar.Time;
+import pl.betoncraft.flier.util.BulletEngine;
 import pl.betoncraft.flier.util.DoubleClickBlocker;
 import pl.betoncraft.flier.util.DummyPlayer;
-import pl.betoncraft.flier.util.EffectListener;
+import pl.betoncraft.flier.util.EffectTable;
+import pl.betoncraft.flier.util.GameTicker;
+import pl.betoncraft.flier.util.Hud;
 import pl.betoncraft.flier.util.LangManager;
+import pl.betoncraft.flier.util.MissileManager;
+import pl.betoncraft.flier.util.ProjectileManager;
+import pl.betoncraft.flier.util.TargetIndex;
+import pl.betoncraft.flier.util.Triggers;
 import pl.betoncraft.flier.util.Utils;
 import pl.betoncraft.flier.util.ValueLoader;
+import pl.betoncraft.flier.util.VoxelCache;
 
 /**
  * Basic rules of a game.
@@ -129,6 +139,13 @@ public abstract class DefaultGame implements Listener, Game {
 	private static final String CENTER = "center";
 	private static final String VIABLE_ARENAS = "viable_arenas";
 	private static final String NAME = "name";
+	private static final String MAX_BULLETS = "max_bullets";
+	private static final String MAX_PROJECTILES = "max_projectiles";
+	private static final String MAX_MISSILES = "max_missiles";
+	private static final String MAX_MISSILES_PER_PLAYER = "max_missiles_per_player";
+	private static final String HUD_SIDEBAR = "hud.sidebar";
+	private static final String HUD_ACTION_BAR = "hud.action_bar";
+	private static final String HUD_EXP_BAR = "hud.exp_bar";
 
 	protected static final List<DamageCause> allowedDamage = new ArrayList<>(Arrays.asList(new DamageCause[]{
 			DamageCause.CONTACT, DamageCause.CUSTOM, DamageCause.FALL, DamageCause.FLY_INTO_WALL,
@@ -147,13 +164,19 @@ public abstract class DefaultGame implements Listener, Game {
 	protected final String name;
 	protected final int uniqueNumber = new Random().nextInt(Integer.MAX_VALUE);
 	protected final ValueLoader loader;
+	protected final GameTicker ticker = new GameTicker();
 	protected GameHeartBeat heartBeat;
 	protected WaitingRoom waitingRoom;
 	
 	protected final Map<UUID, InGamePlayer> dataMap = new HashMap<>();
 	protected final Map<UUID, Target> targets = new HashMap<>();
+	protected final TargetIndex targetIndex;
+	protected final BulletEngine bulletEngine;
+	protected final ProjectileManager projectileManager;
+	protected final MissileManager missileManager;
+	protected final VoxelCache voxelCache;
 	protected final FancyStuffWrapper fancyStuff;
-	protected final EffectListener listener;
+	protected final EffectTable effects;
 	protected final List<Bonus> bonuses = new ArrayList<>();
 	protected final Map<String, Button> buttons = new HashMap<>();
 	protected final Map<InGamePlayer, List<Button>> unlocked = new HashMap<>();
@@ -172,6 +195,7 @@ public abstract class DefaultGame implements Listener, Game {
 	protected final int byFriendlyDeathMoney;
 	protected final int byFriendlyHitMoney;
 	protected final int suicideMoney;
+	protected final int[] hudIntervals = new int[Hud.Channel.values().length];
 
 	protected Lobby lobby;
 	protected Arena arena;
@@ -212,6 +236,14 @@ public abstract class DefaultGame implements Listener, Game {
 		maxX = center.getBlockX() + radius;
 		minZ = center.getBlockZ() - radius;
 		maxZ = center.getBlockZ() + radius;
+		targetIndex = new TargetIndex(this, center, radius);
+		// the cache is empty until the game starts, games built only to be
+		// validated never read the arena
+		voxelCache = new VoxelCache(center, radius);
+		bulletEngine = new BulletEngine(this, loader.loadPositiveInt(MAX_BULLETS, 4096));
+		projectileManager = new ProjectileManager(this, loader.loadPositiveInt(MAX_PROJECTILES, 256));
+		missileManager = new MissileManager(this, loader.loadPositiveInt(MAX_MISSILES, 64),
+				loader.loadPositiveInt(MAX_MISSILES_PER_PLAYER, 8));
 		
 		// load "leave" blocks
 		for (Location loc : arena.getLocationSet(loader.loadString(LEAVE_BLOCKS)).getMultiple()) {
@@ -220,12 +252,15 @@ public abstract class DefaultGame implements Listener, Game {
 		
 		// load other stuffs
 		fancyStuff = flier.getFancyStuff();
-		listener = new EffectListener(section.getStringList(EFFECTS), this);
+		effects = new EffectTable(section.getStringList(EFFECTS));
 		rounds = loader.loadBoolean(ROUNDS);
 		maxPlayers = loader.loadNonNegativeInt(MAX_PLAYERS, 0);
 		maxTime = loader.loadNonNegativeInt(MAX_TIME, 0) * 20;
 		timeLeft = maxTime;
 		respawnAction = loader.loadEnum(RESPAWN_ACTION, RespawnAction.class);
+		hudIntervals[Hud.Channel.SIDEBAR.ordinal()] = loader.loadPositiveInt(HUD_SIDEBAR, 4);
+		hudIntervals[Hud.Channel.ACTION_BAR.ordinal()] = loader.loadPositiveInt(HUD_ACTION_BAR, 4);
+		hudIntervals[Hud.Channel.EXP_BAR.ordinal()] = loader.loadPositiveInt(HUD_EXP_BAR, 1);
 		waitingRoom = new WaitingRoom(this, loader);
 		
 		// bonuses
@@ -267,8 +302,9 @@ public abstract class DefaultGame implements Listener, Game {
 		byFriendlyHitMoney = loader.loadInt(MONEY_BY_FRIENDLY_HIT, 0);
 		suicideMoney = loader.loadInt(MONEY_SUICIDE, 0);
 		
-		// registering an event listener
+		// registering an event listener and effects
 		Bukkit.getPluginManager().registerEvents(this, Flier.getInstance());
+		flier.getEffectListener().register(this, effects);
 		
 		// game created, firing an event
 		if (lobby.isOpen()) {
@@ -277,16 +313,16 @@ public abstract class DefaultGame implements Listener, Game {
 		}
 	}
 	
-	protected class GameHeartBeat extends BukkitRunnable {
+	protected class GameHeartBeat implements Tickable {
 		
 		private int tickCounter = 0;
 		
 		public GameHeartBeat(DefaultGame game) {
-			runTaskTimer(Flier.getInstance(), 1, 1);
+			ticker.register(Phase.INPUT, this);
 		}
 
 		@Override
-		public void run() {
+		public boolean tick() {
 			if (maxTime != 0 && --timeLeft == 0) {
 				endGame();
 			}
@@ -310,6 +346,7 @@ public abstract class DefaultGame implements Listener, Game {
 					tickCounter = 0;
 				}
 			}
+			return true;
 		}
 	}
 	
@@ -360,6 +397,7 @@ public abstract class DefaultGame implements Listener, Game {
 		InGamePlayer data =  new DefaultPlayer(player, this, defKit);
 		dataMap.put(uuid, data);
 		targets.put(uuid, data);
+		targetIndex.invalidate();
 		Flier.getInstance().playerJoinsGame(data);
 		// creating default stuff
 		data.getLines().add(new Fuel(data));
@@ -418,6 +456,7 @@ public abstract class DefaultGame implements Listener, Game {
 			return;
 		}
 		targets.remove(player.getUniqueId());
+		targetIndex.invalidate();
 		unlocked.remove(data);
 		waitingRoom.removePlayer(data);
 		Flier.getInstance().playerLeavesGame(data);
@@ -440,6 +479,7 @@ public abstract class DefaultGame implements Listener, Game {
 	public void start() {
 		running = true;
 		heartBeat = new GameHeartBeat(this);
+		voxelCache.start();
 		for (Bonus bonus : bonuses) {
 			bonus.start();
 		}
@@ -460,12 +500,12 @@ public abstract class DefaultGame implements Listener, Game {
 		for (Bonus bonus : bonuses) {
 			bonus.stop();
 		}
-		if (heartBeat != null) {
-			heartBeat.cancel();
-		}
-		if (waitingRoom.ticker != null) {
-			waitingRoom.ticker.cancel();
-		}
+		ticker.stop();
+		bulletEngine.clear();
+		Flier.getInstance().getAttackerRegistry().clear(this);
+		projectileManager.clear();
+		missileManager.clear();
+		voxelCache.stop();
 		Collection<InGamePlayer> copy = new ArrayList<>(dataMap.values());
 		for (InGamePlayer data : copy) {
 			removePlayer(data.getPlayer());
@@ -475,8 +515,8 @@ public abstract class DefaultGame implements Listener, Game {
 			FlierGameEndEvent event = new FlierGameEndEvent(this, cause);
 			Bukkit.getPluginManager().callEvent(event);
 		}
-		// after firing the event unregister all listeners
-		listener.stop();
+		// after firing the event unregister effects
+		Flier.getInstance().getEffectListener().unregister(this);
 	}
 	
 	@Override
@@ -524,7 +564,8 @@ public abstract class DefaultGame implements Listener, Game {
 	
 	protected void moveToWaitingRoom(InGamePlayer player) {
 		Bukkit.getScheduler().scheduleSyncDelayedTask(Flier.getInstance(), () -> {
-			Utils.clearPlayer(player.getPlayer());
+			// the inventory is synchronized with the kit below
+			Utils.clearPlayer(player.getPlayer(), false);
 			player.setAttacker(null);
 			player.setPlaying(false);
 			Kit kit = player.getKit();
@@ -718,6 +759,53 @@ public abstract class DefaultGame implements Listener, Game {
 		return rounds;
 	}
 	
+	@Override
+	public GameTicker getTicker() {
+		return ticker;
+	}
+	
+	@Override
+	public TargetIndex getTargetFinder() {
+		return targetIndex;
+	}
+	
+	@Override
+	public VoxelCache getBlockCache() {
+		return voxelCache;
+	}
+	
+	/**
+	 * @return the BulletEngine which simulates all unguided bullets in this
+	 *         Game
+	 */
+	public BulletEngine getBulletEngine() {
+		return bulletEngine;
+	}
+	
+	/**
+	 * @return the ProjectileManager which keeps all projectiles launched by
+	 *         guns in this Game
+	 */
+	public ProjectileManager getProjectileManager() {
+		return projectileManager;
+	}
+	
+	/**
+	 * @return the MissileManager which guides all homing missiles in this Game
+	 */
+	public MissileManager getMissileManager() {
+		return missileManager;
+	}
+	
+	/**
+	 * @param channel
+	 *            part of the HUD
+	 * @return the amount of ticks between refreshing this part of players' HUD
+	 */
+	public int getHudInterval(Hud.Channel channel) {
+		return hudIntervals[channel.ordinal()];
+	}
+	
 	@EventHandler(priority=EventPriority.HIGH)
 	public void onClick(PlayerInteractEvent event) {
 		InGamePlayer data = getPlayers().get(event.getPlayer().getUniqueId());
@@ -755,7 +843,7 @@ public abstract class DefaultGame implements Listener, Game {
 			// not a button
 			ItemStack item = event.getPlayer().getInventory().getItemInMainHand();
 			Wings wings = data.getKit().getWings();
-			if (item != null && wings != null && item.isSimilar(wings.getItem(data))) {
+			if (wings != null && wings.matches(data, item)) {
 				// handle wearing wings
 				event.getPlayer().getInventory().setChestplate(item);
 				event.getPlayer().getInventory().setItemInMainHand(null);
@@ -766,11 +854,11 @@ public abstract class DefaultGame implements Listener, Game {
 				switch (event.getAction()) {
 				case LEFT_CLICK_AIR:
 				case LEFT_CLICK_BLOCK:
-					data.addTrigger("left_click");
+					data.addTrigger(Triggers.LEFT_CLICK);
 					break;
 				case RIGHT_CLICK_AIR:
 				case RIGHT_CLICK_BLOCK:
-					data.addTrigger("right_click");
+					data.addTrigger(Triggers.RIGHT_CLICK);
 					break;
 				default:
 					break;
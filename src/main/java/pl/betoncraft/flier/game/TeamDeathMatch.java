@@ -112,11 +112,6 @@ public class TeamDeathMatch extends DefaultGame {
 			}
 		}
 		
-		public SimpleTeam() {
-			name = "Neutral";
-			color = ChatColor.WHITE;
-		}
-
 		public int getScore() {
 			return score;
 		}
@@ -209,7 +204,9 @@ public class TeamDeathMatch extends DefaultGame {
 		queue.remove(dataMap.get(player.getUniqueId()));
 		super.removePlayer(player);
 		players.remove(player.getUniqueId());
-		updateColors();
+		for (InGamePlayer g : dataMap.values()) {
+			g.updateColor(player.getName(), null);
+		}
 	}
 	
 	@Override
@@ -279,7 +276,9 @@ public class TeamDeathMatch extends DefaultGame {
 	
 	@Override
 	public Attitude getAttitude(Target toThisOne, Target ofThisOne) {
-		if (getTeam(toThisOne).equals(getTeam(ofThisOne))) {
+		// players without a team are hostile to everyone
+		SimpleTeam team = getTeam(toThisOne);
+		if (team != null && team == getTeam(ofThisOne)) {
 			return Attitude.FRIENDLY;
 		} else {
 			return Attitude.HOSTILE;
@@ -368,7 +367,7 @@ public class TeamDeathMatch extends DefaultGame {
 		if (target instanceof InGamePlayer) {
 			team = players.get(((InGamePlayer) target).getPlayer().getUniqueId());
 		}
-		return team == null ? new SimpleTeam() : team;
+		return team;
 	}
 	
 	private void setTeam(InGamePlayer data, SimpleTeam team) {
@@ -379,14 +378,14 @@ public class TeamDeathMatch extends DefaultGame {
 				team.getName();
 		Flier.getInstance().getFancyStuff().sendTitle(
 				data.getPlayer(), team.getColor() + Utils.capitalize(teamName), null, 0, 0, 0);
-		updateColors();
-	}
-
-	private void updateColors() {
-		Map<String, ChatColor> colors = getColors();
+		// other players only need to know about this one
+		String name = data.getPlayer().getName();
 		for (InGamePlayer g : dataMap.values()) {
-			g.updateColors(colors);
+			if (g != data) {
+				g.updateColor(name, team.getColor());
+			}
 		}
+		data.updateColors(getColors());
 	}
 	
 	private SimpleTeam chooseTeam() {
@@ -415,6 +414,9 @@ public class TeamDeathMatch extends DefaultGame {
 	}
 	
 	private void score(SimpleTeam team, int amount) {
+		if (team == null) {
+			return;
+		}
 		int newScore = team.getScore() + amount;
 		team.setScore(newScore);
 		if (newScore >= pointsToWin) {
@@ -30,11 +30,10 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.bukkit.Location;
-import org.bukkit.scheduler.BukkitRunnable;
 
-import pl.betoncraft.flier.api.Flier;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
 import pl.betoncraft.flier.util.LangManager;
 import pl.betoncraft.flier.util.ValueLoader;
 
@@ -71,7 +70,7 @@ class WaitingRoom {
 	protected Set<InGamePlayer> waitingPlayers = new HashSet<>();
 	protected WaitReason reason = WaitReason.NO_WAIT;
 	protected int currentWaitingTime;
-	protected BukkitRunnable ticker;
+	protected boolean ticking = false;
 	protected boolean locked = false;
 	protected boolean roundFinished = false;
 	
@@ -82,12 +81,6 @@ class WaitingRoom {
 		startDelay = loader.loadNonNegativeInt(START_DELAY, 0);
 		locking = loader.loadBoolean(LOCKING, false);
 		location = game.getArena().getLocationSet(loader.loadString(WAITING_ROOM)).getSingle();
-		ticker = new BukkitRunnable() {
-			public void run() {
-				tick();
-			};
-		};
-		ticker.runTaskTimer(Flier.getInstance(), 1, 1);
 		currentWaitingTime = -1; // lower than 0 means the waiting room is idle
 	}
 	
@@ -161,6 +154,11 @@ class WaitingRoom {
 		} else {
 			player.getPlayer().teleport(location);
 		}
+		// the countdown needs to be ticked only when it's not idle
+		if (currentWaitingTime >= 0 && !ticking) {
+			ticking = true;
+			game.getTicker().register(Phase.WAITING_ROOM, this::tick);
+		}
 		return reason;
 	}
 	
@@ -193,8 +191,10 @@ class WaitingRoom {
 	
 	/**
 	 * Called every tick so waiting room can decrease the counters.
+	 * 
+	 * @return whenever the waiting room should be ticked again
 	 */
-	public void tick() {
+	public boolean tick() {
 		boolean shouldCountdown = reason != WaitReason.GAME_ENDS
 				&& (!game.isRunning() || !game.hasRounds() || roundFinished);
 		if (shouldCountdown) {
@@ -216,6 +216,8 @@ class WaitingRoom {
 			}
 			currentWaitingTime--;
 		}
+		ticking = currentWaitingTime >= 0;
+		return ticking;
 	}
 	
 }
\ No newline at end of file
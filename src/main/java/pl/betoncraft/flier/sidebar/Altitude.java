@@ -24,12 +24,11 @@
 package pl.betoncraft.flier.sidebar;
 
 import org.bukkit.ChatColor;
-import org.bukkit.Location;
 
 import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
 import pl.betoncraft.flier.api.core.SidebarLine;
 import pl.betoncraft.flier.util.LangManager;
-import pl.betoncraft.flier.util.Utils;
 
 /**
  * A sidebar line showing player's altitude.
@@ -50,17 +49,17 @@ public class Altitude implements SidebarLine {
 
 	@Override
 	public String getText() {
-		double a = player.getPlayer().getLocation().getY() - 64;
+		PlayerSnapshot snapshot = player.getSnapshot();
+		double a = snapshot.getY() - 64;
 		if (lastString == null || a != lastValue) {
 			String color;
 			double health = player.getPlayer().getHealth();
-			Location loc = player.getPlayer().getLocation();
-			int aboveGround = Utils.getAltitude(loc, (int) health + 1);
+			int aboveGround = Math.min(snapshot.getAltitude(), (int) health + 1);
 			if (aboveGround == 0) {
 				color = ChatColor.GRAY.toString();
 			} else if (aboveGround < health) {
 				color = ChatColor.GREEN.toString();
-			} else if (loc.getBlockY() <= 256) {
+			} else if (snapshot.getY() < 257) {
 				color = ChatColor.YELLOW.toString();
 			} else {
 				color = ChatColor.RED.toString();
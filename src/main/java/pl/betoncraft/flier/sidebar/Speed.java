@@ -24,9 +24,9 @@
 package pl.betoncraft.flier.sidebar;
 
 import org.bukkit.ChatColor;
-import org.bukkit.util.Vector;
 
 import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
 import pl.betoncraft.flier.api.core.SidebarLine;
 import pl.betoncraft.flier.util.LangManager;
 
@@ -49,9 +49,9 @@ public class Speed implements SidebarLine {
 
 	@Override
 	public String getText() {
-		Vector vel = player.getPlayer().getVelocity();
-		double s = vel.length() * 10;
-		double vertical = vel.getY();
+		PlayerSnapshot snapshot = player.getSnapshot();
+		double s = snapshot.getSpeed() * 10;
+		double vertical = snapshot.getVelY();
 		if (s < 1) {
 			s = 0;
 		}
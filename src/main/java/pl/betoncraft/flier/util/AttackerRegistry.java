@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+import pl.betoncraft.flier.api.Flier;
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.core.Attacker;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+
+/**
+ * Keeps Attackers of all entities (projectiles, missiles, bombs) launched by
+ * Flier. Entities are compared by their ID, so looking them up doesn't
+ * allocate anything. Entries are dropped when the entity is hit, explodes, is
+ * unloaded with its chunk or when the Game ends.
+ *
+ * @author Jakub Sapalski
+ */
+public class AttackerRegistry implements Listener {
+
+	private final Map<Entity, Attacker> attackers = new HashMap<>();
+
+	public AttackerRegistry() {
+		Bukkit.getPluginManager().registerEvents(this, Flier.getInstance());
+	}
+
+	/**
+	 * Registers the Attacker of the entity.
+	 * 
+	 * @param entity
+	 *            the entity which was launched
+	 * @param attacker
+	 *            the Attacker responsible for this entity
+	 */
+	public void register(Entity entity, Attacker attacker) {
+		attackers.put(entity, attacker);
+	}
+
+	/**
+	 * @param entity
+	 *            any entity
+	 * @return the Attacker of this entity or null if it wasn't launched by
+	 *         Flier
+	 */
+	public Attacker get(Entity entity) {
+		return attackers.get(entity);
+	}
+
+	/**
+	 * Removes the Attacker of this entity. The entity itself is not removed.
+	 * 
+	 * @param entity
+	 *            the entity launched by Flier
+	 */
+	public void unregister(Entity entity) {
+		attackers.remove(entity);
+	}
+
+	/**
+	 * Removes all entities launched by players from this Game, together with
+	 * their Attackers.
+	 * 
+	 * @param game
+	 *            the Game which has ended
+	 */
+	public void clear(Game game) {
+		Iterator<Map.Entry<Entity, Attacker>> iterator = attackers.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Entity, Attacker> entry = iterator.next();
+			Attacker attacker = entry.getValue();
+			InGamePlayer player = attacker.getCreator() != null ? attacker.getCreator() : attacker.getSource();
+			if (player != null && player.getGame() == game) {
+				iterator.remove();
+				entry.getKey().remove();
+			}
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onChunkUnload(ChunkUnloadEvent event) {
+		if (attackers.isEmpty()) {
+			return;
+		}
+		for (Entity entity : event.getChunk().getEntities()) {
+			if (attackers.remove(entity) != null) {
+				entity.remove();
+			}
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onExplode(EntityExplodeEvent event) {
+		// entities are damaged before this event, so the Attacker is no longer needed
+		unregister(event.getEntity());
+	}
+
+}
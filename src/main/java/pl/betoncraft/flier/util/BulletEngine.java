@@ -0,0 +1,357 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.core.Damager;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+import pl.betoncraft.flier.api.core.UsableItem;
+import pl.betoncraft.flier.core.DefaultAttacker;
+
+/**
+ * Simulates all unguided bullets in a single Game. The state of bullets is
+ * kept in primitive arrays and all of them are advanced in one pass per
+ * tick: first they are moved and checked against blocks and Targets, then
+ * the hits are handled and at the end the particles are spawned. Slots of
+ * dead bullets are reused, so there is no allocation in the normal flow.
+ *
+ * @author Jakub Sapalski
+ */
+public class BulletEngine {
+
+	/**
+	 * A Damager which fires bullets simulated by the BulletEngine.
+	 */
+	public interface BulletType extends Damager {
+
+		/**
+		 * @return the amount of trail particles per block of bullet's path
+		 */
+		public double getDensity();
+
+		/**
+		 * Spawns a single trail particle of the bullet.
+		 */
+		public void spawnTrail(World world, double x, double y, double z);
+
+		/**
+		 * Spawns particles at the point where the bullet hit something.
+		 */
+		public void spawnImpact(World world, double x, double y, double z);
+
+	}
+
+	private static final byte FREE = 0;
+	private static final byte ALIVE = 1;
+	private static final byte FRESH = 2;
+
+	private final Game game;
+	private final World world;
+	private final int maxBullets;
+
+	private byte[] state;
+	private double[] x, y, z;
+	private double[] dx, dy, dz;
+	private double[] speed;
+	private double[] range;
+	private double[] proximity;
+	private BulletType[] types;
+	private InGamePlayer[] creators;
+	private InGamePlayer[] sources;
+	private UsableItem[] weapons;
+	private double[] travel;
+	private boolean[] impact;
+	private Target[] hits;
+
+	private int[] free;
+	private int freeCount = 0;
+	private int used = 0;
+	private int live = 0;
+	private boolean ticking = false;
+	private boolean registered = false;
+
+	private int peak = 0;
+	private long fired = 0;
+	private long dropped = 0;
+
+	private InGamePlayer shooter;
+	private final Predicate<Target> filter = t -> t.isTargetable() && !t.equals(shooter);
+
+	/**
+	 * Creates a bullet engine for the Game.
+	 * 
+	 * @param game
+	 *            the Game in which bullets will fly
+	 * @param maxBullets
+	 *            maximum amount of live bullets, new bullets will be dropped
+	 *            if it's reached
+	 */
+	public BulletEngine(Game game, int maxBullets) {
+		this.game = game;
+		this.world = game.getCenter().getWorld();
+		this.maxBullets = maxBullets;
+		allocate(64);
+	}
+
+	/**
+	 * Fires a new bullet.
+	 * 
+	 * @param type
+	 *            type of the bullet, it's also its Damager
+	 * @param creator
+	 *            the player who created the bullet
+	 * @param source
+	 *            the player from whom the bullet was fired
+	 * @param weapon
+	 *            the UsableItem which fired the bullet
+	 * @param startX
+	 *            X coordinate of the starting point
+	 * @param startY
+	 *            Y coordinate of the starting point
+	 * @param startZ
+	 *            Z coordinate of the starting point
+	 * @param dirX
+	 *            X component of the normalized direction
+	 * @param dirY
+	 *            Y component of the normalized direction
+	 * @param dirZ
+	 *            Z component of the normalized direction
+	 * @param speed
+	 *            distance the bullet travels every tick
+	 * @param range
+	 *            total distance the bullet can travel
+	 * @param proximitySqr
+	 *            squared distance from the path at which Targets are hit
+	 * @return whenever the bullet was fired; it won't if there are too many
+	 *         bullets already
+	 */
+	public boolean fire(BulletType type, InGamePlayer creator, InGamePlayer source, UsableItem weapon,
+			double startX, double startY, double startZ, double dirX, double dirY, double dirZ, double speed, double range, double proximitySqr) {
+		if (live >= maxBullets) {
+			dropped++;
+			return false;
+		}
+		int i;
+		if (freeCount > 0) {
+			i = free[--freeCount];
+		} else {
+			if (used == state.length) {
+				allocate(state.length * 2);
+			}
+			i = used++;
+		}
+		// bullets fired while simulating will start moving on the next tick
+		state[i] = ticking ? FRESH : ALIVE;
+		x[i] = startX;
+		y[i] = startY;
+		z[i] = startZ;
+		dx[i] = dirX;
+		dy[i] = dirY;
+		dz[i] = dirZ;
+		this.speed[i] = speed;
+		this.range[i] = range;
+		proximity[i] = proximitySqr;
+		types[i] = type;
+		creators[i] = creator;
+		sources[i] = source;
+		weapons[i] = weapon;
+		live++;
+		fired++;
+		peak = Math.max(peak, live);
+		if (!registered) {
+			registered = true;
+			game.getTicker().register(Phase.PROJECTILES, this::tick);
+		}
+		return true;
+	}
+
+	/**
+	 * @return the amount of bullets currently flying
+	 */
+	public int getLiveBullets() {
+		return live;
+	}
+
+	/**
+	 * @return the highest amount of bullets flying at the same time
+	 */
+	public int getPeakBullets() {
+		return peak;
+	}
+
+	/**
+	 * @return the total amount of bullets fired
+	 */
+	public long getFiredBullets() {
+		return fired;
+	}
+
+	/**
+	 * @return the amount of bullets which were not fired because of the limit
+	 */
+	public long getDroppedBullets() {
+		return dropped;
+	}
+
+	/**
+	 * Removes all bullets.
+	 */
+	public void clear() {
+		for (int i = 0; i < used; i++) {
+			if (state[i] != FREE) {
+				kill(i);
+			}
+		}
+	}
+
+	private boolean tick() {
+		ticking = true;
+		int count = used;
+		// move bullets and look for obstacles
+		for (int i = 0; i < count; i++) {
+			if (state[i] != ALIVE) {
+				continue;
+			}
+			double length = speed[i];
+			double endX = x[i] + dx[i] * length;
+			double endZ = z[i] + dz[i] * length;
+			// terminate the bullet if it's going out of loaded chunks
+			// this prevents loading chunks from file to get block solidness
+			if (!world.isChunkLoaded(floor(endX) >> 4, floor(endZ) >> 4)) {
+				kill(i);
+				continue;
+			}
+			// check for any solid blocks in the path
+			length = game.getBlockCache().raycast(x[i], y[i], z[i], dx[i], dy[i], dz[i], length);
+			impact[i] = length < speed[i];
+			// check targets in proximity of the bullet's path
+			// we're looking only for the closest target, but not the shooter
+			shooter = creators[i];
+			Target target = game.getTargetFinder().nearestToSegment(x[i], y[i], z[i],
+					x[i] + dx[i] * length, y[i] + dy[i] * length, z[i] + dz[i] * length,
+					proximity[i], filter);
+			if (target != null) {
+				// the bullet stops at the point closest to the target
+				Location loc = target.getLocation();
+				double along = (loc.getX() - x[i]) * dx[i] + (loc.getY() - y[i]) * dy[i] + (loc.getZ() - z[i]) * dz[i];
+				length = Math.max(0, Math.min(length, along));
+				impact[i] = true;
+				hits[i] = target;
+			}
+			travel[i] = length;
+		}
+		shooter = null;
+		// handle all hits
+		for (int i = 0; i < count; i++) {
+			Target target = hits[i];
+			if (target != null) {
+				hits[i] = null;
+				game.handleHit(target, new DefaultAttacker(types[i], creators[i], sources[i], weapons[i]));
+			}
+		}
+		// spawn particles and remove finished bullets
+		for (int i = 0; i < count; i++) {
+			if (state[i] != ALIVE) {
+				continue;
+			}
+			BulletType type = types[i];
+			double length = travel[i];
+			int steps = (int) (length * type.getDensity());
+			double step = steps == 0 ? 0 : length / steps;
+			double startX = x[i], startY = y[i], startZ = z[i];
+			for (int s = 1; s <= steps; s++) {
+				type.spawnTrail(world, startX + dx[i] * step * s, startY + dy[i] * step * s, startZ + dz[i] * step * s);
+			}
+			x[i] = startX + dx[i] * length;
+			y[i] = startY + dy[i] * length;
+			z[i] = startZ + dz[i] * length;
+			range[i] -= length;
+			if (impact[i]) {
+				type.spawnImpact(world, x[i], y[i], z[i]);
+				kill(i);
+			} else if (range[i] <= 0) {
+				kill(i);
+			}
+		}
+		// bullets fired in this tick can move from now on
+		for (int i = 0; i < used; i++) {
+			if (state[i] == FRESH) {
+				state[i] = ALIVE;
+			}
+		}
+		ticking = false;
+		registered = live > 0;
+		return registered;
+	}
+
+	private void kill(int i) {
+		state[i] = FREE;
+		types[i] = null;
+		creators[i] = null;
+		sources[i] = null;
+		weapons[i] = null;
+		hits[i] = null;
+		free[freeCount++] = i;
+		live--;
+	}
+
+	private void allocate(int capacity) {
+		state = state == null ? new byte[capacity] : Arrays.copyOf(state, capacity);
+		x = grow(x, capacity);
+		y = grow(y, capacity);
+		z = grow(z, capacity);
+		dx = grow(dx, capacity);
+		dy = grow(dy, capacity);
+		dz = grow(dz, capacity);
+		speed = grow(speed, capacity);
+		range = grow(range, capacity);
+		proximity = grow(proximity, capacity);
+		travel = grow(travel, capacity);
+		impact = impact == null ? new boolean[capacity] : Arrays.copyOf(impact, capacity);
+		types = types == null ? new BulletType[capacity] : Arrays.copyOf(types, capacity);
+		creators = creators == null ? new InGamePlayer[capacity] : Arrays.copyOf(creators, capacity);
+		sources = sources == null ? new InGamePlayer[capacity] : Arrays.copyOf(sources, capacity);
+		weapons = weapons == null ? new UsableItem[capacity] : Arrays.copyOf(weapons, capacity);
+		hits = hits == null ? new Target[capacity] : Arrays.copyOf(hits, capacity);
+		free = free == null ? new int[capacity] : Arrays.copyOf(free, capacity);
+	}
+
+	private static double[] grow(double[] array, int capacity) {
+		return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+	}
+
+	private static int floor(double d) {
+		int i = (int) d;
+		return d < i ? i - 1 : i;
+	}
+
+}
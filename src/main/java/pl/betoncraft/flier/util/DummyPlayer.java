@@ -35,6 +35,7 @@ import pl.betoncraft.flier.api.content.Game;
 import pl.betoncraft.flier.api.core.Attacker;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.Kit;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
 import pl.betoncraft.flier.api.core.SidebarLine;
 import pl.betoncraft.flier.api.core.UsableItem;
 
@@ -69,6 +70,11 @@ public class DummyPlayer implements InGamePlayer {
 		return null;
 	}
 
+	@Override
+	public PlayerSnapshot getSnapshot() {
+		return null;
+	}
+
 	@Override
 	public Game getGame() {
 		return null;
@@ -98,8 +104,12 @@ public class DummyPlayer implements InGamePlayer {
 	}
 
 	@Override
-	public List<String> getTriggers() {
-		return null;
+	public void addTrigger(int id) {
+	}
+
+	@Override
+	public TriggerSet getTriggers() {
+		return new TriggerSet();
 	}
 
 	@Override
@@ -180,6 +190,10 @@ public class DummyPlayer implements InGamePlayer {
 	public void updateColors(Map<String, ChatColor> map) {
 	}
 
+	@Override
+	public void updateColor(String name, ChatColor color) {
+	}
+
 	@Override
 	public List<SidebarLine> getLines() {
 		return null;
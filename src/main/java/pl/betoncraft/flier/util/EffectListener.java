@@ -23,11 +23,8 @@
  */
 package pl.betoncraft.flier.util;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import org.bukkit.Bukkit;
 import org.bukkit.event.Cancellable;
@@ -37,12 +34,8 @@ import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 
 import pl.betoncraft.flier.api.Flier;
-import pl.betoncraft.flier.api.content.Effect;
 import pl.betoncraft.flier.api.content.Game;
-import pl.betoncraft.flier.api.core.LoadingException;
-import pl.betoncraft.flier.api.core.Matcher;
 import pl.betoncraft.flier.core.MatchingEvent;
-import pl.betoncraft.flier.core.MatchingPlayerEvent;
 import pl.betoncraft.flier.event.FlierClickButtonEvent;
 import pl.betoncraft.flier.event.FlierCollectBonusEvent;
 import pl.betoncraft.flier.event.FlierEngineUseEvent;
@@ -56,7 +49,8 @@ import pl.betoncraft.flier.event.FlierProjectileLaunchEvent;
 import pl.betoncraft.flier.event.FlierUseEvent;
 
 /**
- * Listens for all MatchingEvents and runs matching Effects.
+ * Listens for all MatchingEvents and routes them to EffectTables of their
+ * Games. There is only one EffectListener in the plugin.
  *
  * @author Jakub Sapalski
  */
@@ -94,33 +88,37 @@ public class EffectListener implements Listener {
 		}
 	}
 
-	private final Game game;
-	private final Map<EventType, List<Effect>> effects = new HashMap<>();
+	private final Map<Game, EffectTable> tables = new HashMap<>();
 
 	/**
-	 * Creates new event listener which fires Effects when a matching event is
-	 * called.
+	 * Creates the event listener which fires Effects of registered Games when
+	 * a matching event is called.
+	 */
+	public EffectListener() {
+		Bukkit.getPluginManager().registerEvents(this, Flier.getInstance());
+	}
+
+	/**
+	 * Registers the table of Effects for the Game. Events of this Game will
+	 * fire these Effects until the Game is unregistered.
 	 * 
-	 * @param effectNames
 	 * @param game
-	 *            the Game for which this EffectListener runs
-	 * @throws LoadingException
-	 *             when there is an error in one of the Effects
+	 *            the Game which owns the Effects
+	 * @param table
+	 *            Effects of the Game
 	 */
-	public EffectListener(List<String> effectNames, Game game) throws LoadingException {
-		// TODO create effects getter in game and remove first parameter
-		this.game = game;
-		Flier flier = Flier.getInstance();
-		for (String effectName : effectNames) {
-			try {
-				Effect effect = flier.getEffect(effectName);
-				effects.computeIfAbsent(effect.getType(), k -> new ArrayList<>()).add(effect);
-			} catch (LoadingException e) {
-				throw (LoadingException) new LoadingException(String.format("Error in '%s' effect.", effectName))
-						.initCause(e);
-			}
-		}
-		Bukkit.getPluginManager().registerEvents(this, Flier.getInstance());
+	public void register(Game game, EffectTable table) {
+		tables.put(game, table);
+	}
+
+	/**
+	 * Removes the table of Effects of the Game.
+	 * 
+	 * @param game
+	 *            the Game which has ended
+	 */
+	public void unregister(Game game) {
+		tables.remove(game);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR)
@@ -189,7 +187,7 @@ public class EffectListener implements Listener {
 	}
 
 	/**
-	 * Fires Effects for specified Event type, matching the supplied event.
+	 * Passes the event to the EffectTable of its Game.
 	 * 
 	 * @param type
 	 *            type of the MatchingEvent
@@ -197,69 +195,21 @@ public class EffectListener implements Listener {
 	 *            MatchingEvent to match against
 	 */
 	private void fireEffects(EventType type, MatchingEvent event) {
-		if ((event instanceof Cancellable && ((Cancellable) event).isCancelled()) || !event.getGame().equals(game)) {
+		if (event instanceof Cancellable && ((Cancellable) event).isCancelled()) {
 			return;
 		}
-		List<Effect> effects = this.effects.computeIfAbsent(type, k -> new ArrayList<>(0));
-		for (Effect effect : effects) {
-			if (checkEffect(effect, event)) {
-				if (effect.getType().isPlayerInvolved() && event instanceof MatchingPlayerEvent) {
-					effect.fire(Optional.of(((MatchingPlayerEvent) event).getPlayer()));
-				} else {
-					effect.fire(Optional.empty());
-				}
-			}
-		}
-	}
-
-	/**
-	 * Checks whenever the Effect matches the given MatchingEvent.
-	 * 
-	 * @param effect
-	 *            the Effect to check
-	 * @param event
-	 *            the MatchingEvent to match
-	 * @return whenever the Effect matches this MatchingEvent
-	 */
-	private boolean checkEffect(Effect effect, MatchingEvent event) {
-		for (Matcher matcher : effect.getMatchers()) {
-			String name = matcher.getName();
-			switch (matcher.getType()) {
-			case STRING:
-				String string = event.getString(name);
-				if (string == null || !matcher.getStrings().contains(string)) {
-					return false;
-				}
-				break;
-			case NUMBER_EXACT:
-				Double number1 = event.getNumber(name);
-				if (number1 == null || matcher.exactNumber() != number1) {
-					return false;
-				}
-				break;
-			case NUMBER_SECTION:
-				Double number2 = event.getNumber(name); // somebody should fix this bug with duplicated variables in switch...
-														// there's a damn break, it can work!
-				if (number2 == null || !(number2 > matcher.minNumber() && number2 < matcher.maxNumber())) {
-					return false;
-				}
-				break;
-			case BOOLEAN:
-				Boolean bool = event.getBool(name);
-				if (bool == null || bool != matcher.bool()) {
-					return false;
-				}
-				break;
-			}
+		EffectTable table = tables.get(event.getGame());
+		if (table != null) {
+			table.fire(type, event);
 		}
-		return true;
 	}
 	
 	/**
-	 * Unregisters this EffectListener.
+	 * Unregisters this EffectListener and removes all tables.
 	 */
 	public void stop() {
 		HandlerList.unregisterAll(this);
+		tables.clear();
 	}
 
 }
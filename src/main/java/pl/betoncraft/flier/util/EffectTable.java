@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import pl.betoncraft.flier.api.Flier;
+import pl.betoncraft.flier.api.content.Effect;
+import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.Matcher;
+import pl.betoncraft.flier.core.MatchingEvent;
+import pl.betoncraft.flier.core.MatchingPlayerEvent;
+import pl.betoncraft.flier.util.EffectListener.EventType;
+
+/**
+ * Effects of a single Game, grouped by the type of the event which fires
+ * them. Games register their tables in the EffectListener.
+ *
+ * @author Jakub Sapalski
+ */
+public class EffectTable {
+
+	private static final Effect[] NONE = new Effect[0];
+
+	private final Map<EventType, Effect[]> effects = new EnumMap<>(EventType.class);
+
+	/**
+	 * Creates a table of Effects with specified names.
+	 * 
+	 * @param effectNames
+	 *            names of the Effects
+	 * @throws LoadingException
+	 *             when there is an error in one of the Effects
+	 */
+	public EffectTable(List<String> effectNames) throws LoadingException {
+		Flier flier = Flier.getInstance();
+		Map<EventType, List<Effect>> lists = new EnumMap<>(EventType.class);
+		for (String effectName : effectNames) {
+			try {
+				Effect effect = flier.getEffect(effectName);
+				lists.computeIfAbsent(effect.getType(), k -> new ArrayList<>()).add(effect);
+			} catch (LoadingException e) {
+				throw (LoadingException) new LoadingException(String.format("Error in '%s' effect.", effectName))
+						.initCause(e);
+			}
+		}
+		lists.forEach((type, list) -> effects.put(type, list.toArray(new Effect[list.size()])));
+	}
+
+	/**
+	 * Fires Effects for specified Event type, matching the supplied event.
+	 * 
+	 * @param type
+	 *            type of the MatchingEvent
+	 * @param event
+	 *            MatchingEvent to match against
+	 */
+	public void fire(EventType type, MatchingEvent event) {
+		for (Effect effect : effects.getOrDefault(type, NONE)) {
+			if (checkEffect(effect, event)) {
+				if (effect.getType().isPlayerInvolved() && event instanceof MatchingPlayerEvent) {
+					effect.fire(Optional.of(((MatchingPlayerEvent) event).getPlayer()));
+				} else {
+					effect.fire(Optional.empty());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks whenever the Effect matches the given MatchingEvent.
+	 * 
+	 * @param effect
+	 *            the Effect to check
+	 * @param event
+	 *            the MatchingEvent to match
+	 * @return whenever the Effect matches this MatchingEvent
+	 */
+	private boolean checkEffect(Effect effect, MatchingEvent event) {
+		for (Matcher matcher : effect.getMatchers()) {
+			String name = matcher.getName();
+			switch (matcher.getType()) {
+			case STRING:
+				String string = event.getString(name);
+				if (string == null || !matcher.getStrings().contains(string)) {
+					return false;
+				}
+				break;
+			case NUMBER_EXACT:
+				Double number1 = event.getNumber(name);
+				if (number1 == null || matcher.exactNumber() != number1) {
+					return false;
+				}
+				break;
+			case NUMBER_SECTION:
+				Double number2 = event.getNumber(name); // somebody should fix this bug with duplicated variables in switch...
+														// there's a damn break, it can work!
+				if (number2 == null || !(number2 > matcher.minNumber() && number2 < matcher.maxNumber())) {
+					return false;
+				}
+				break;
+			case BOOLEAN:
+				Boolean bool = event.getBool(name);
+				if (bool == null || bool != matcher.bool()) {
+					return false;
+				}
+				break;
+			}
+		}
+		return true;
+	}
+
+}
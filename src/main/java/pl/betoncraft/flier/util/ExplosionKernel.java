@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import org.bukkit.Location;
+
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.core.Attacker;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
+import pl.betoncraft.flier.api.core.Target;
+
+/**
+ * Resolves explosions without the vanilla explosion mechanics. Targets are
+ * found with the Game's TargetFinder and optionally checked for a line of
+ * sight through the Game's BlockCache.
+ *
+ * @author Jakub Sapalski
+ */
+public class ExplosionKernel {
+
+	/**
+	 * Hits all Targets caught in the explosion.
+	 * 
+	 * @param game
+	 *            the Game in which the explosion happens
+	 * @param center
+	 *            center of the explosion
+	 * @param radius
+	 *            radius of the explosion
+	 * @param lineOfSight
+	 *            whenever Targets hidden behind solid blocks should be
+	 *            protected from the explosion
+	 * @param attacker
+	 *            the Attacker responsible for the explosion
+	 * @return the amount of Targets hit by the explosion
+	 */
+	public static int explode(Game game, Location center, double radius, boolean lineOfSight, Attacker attacker) {
+		int hits = 0;
+		double x = center.getX(), y = center.getY(), z = center.getZ();
+		for (Target target : game.getTargetFinder().inRadius(center, radius)) {
+			if (!target.isTargetable()) {
+				continue;
+			}
+			if (lineOfSight && !isExposed(game, x, y, z, target)) {
+				continue;
+			}
+			game.handleHit(target, attacker);
+			hits++;
+		}
+		return hits;
+	}
+
+	/**
+	 * Checks if there are no solid blocks between the point and the Target.
+	 */
+	private static boolean isExposed(Game game, double x, double y, double z, Target target) {
+		double tx, ty, tz;
+		PlayerSnapshot snapshot = target instanceof InGamePlayer ? ((InGamePlayer) target).getSnapshot() : null;
+		if (snapshot != null) {
+			tx = snapshot.getCenterX();
+			ty = snapshot.getCenterY();
+			tz = snapshot.getCenterZ();
+		} else {
+			Location loc = target.getLocation();
+			tx = loc.getX();
+			ty = loc.getY();
+			tz = loc.getZ();
+		}
+		double dx = tx - x, dy = ty - y, dz = tz - z;
+		double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+		if (distance == 0) {
+			return true;
+		}
+		return game.getBlockCache().raycast(x, y, z, dx / distance, dy / distance, dz / distance, distance) >= distance;
+	}
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.scheduler.BukkitRunnable;
+
+import pl.betoncraft.flier.api.Flier;
+import pl.betoncraft.flier.api.core.Ticker;
+
+/**
+ * Drives everything which needs to happen every tick in a single Game. Instead
+ * of scheduling their own tasks, players, bonuses, bullets and other components
+ * register Tickables into Phases, which are then run in a fixed order. When
+ * there is nothing left to tick the ticker hibernates and it wakes up again
+ * on the next registration.
+ *
+ * @author Jakub Sapalski
+ */
+public class GameTicker implements Ticker {
+
+	private final Map<Phase, List<Tickable>> phases = new EnumMap<>(Phase.class);
+	private BukkitRunnable task;
+	private int tick = 0;
+	private boolean removed = false;
+	private boolean stopped = false;
+
+	public GameTicker() {
+		for (Phase phase : Phase.values()) {
+			phases.put(phase, new ArrayList<>());
+		}
+	}
+
+	@Override
+	public void register(Phase phase, Tickable tickable) {
+		if (stopped) {
+			return;
+		}
+		phases.get(phase).add(tickable);
+		if (task == null) {
+			task = new BukkitRunnable() {
+				@Override
+				public void run() {
+					tick();
+				}
+			};
+			task.runTaskTimer(Flier.getInstance(), 1, 1);
+		}
+	}
+
+	@Override
+	public void unregister(Phase phase, Tickable tickable) {
+		List<Tickable> list = phases.get(phase);
+		int index = list.indexOf(tickable);
+		if (index >= 0) {
+			// the list may be iterated right now, so it's cleaned up later
+			list.set(index, null);
+			removed = true;
+		}
+	}
+
+	@Override
+	public int getCurrentTick() {
+		return tick;
+	}
+
+	/**
+	 * @return whenever the ticker is hibernating because there is nothing to
+	 *         tick
+	 */
+	public boolean isHibernating() {
+		return task == null;
+	}
+
+	/**
+	 * Stops the ticker and removes all Tickables. It can't be woken up again.
+	 */
+	public void stop() {
+		stopped = true;
+		if (task != null) {
+			task.cancel();
+			task = null;
+		}
+		for (List<Tickable> list : phases.values()) {
+			list.clear();
+		}
+	}
+
+	private void tick() {
+		tick++;
+		for (List<Tickable> list : phases.values()) {
+			// new Tickables can be added at the end while iterating
+			for (int i = 0; i < list.size(); i++) {
+				Tickable tickable = list.get(i);
+				if (tickable != null && !tickable.tick()) {
+					unregisterAt(list, i, tickable);
+				}
+				if (stopped) {
+					return;
+				}
+			}
+		}
+		boolean empty = true;
+		for (List<Tickable> list : phases.values()) {
+			if (removed) {
+				list.removeIf(t -> t == null);
+			}
+			empty &= list.isEmpty();
+		}
+		removed = false;
+		if (empty) {
+			task.cancel();
+			task = null;
+		}
+	}
+
+	private void unregisterAt(List<Tickable> list, int index, Tickable tickable) {
+		// the Tickable could have been removed and registered again while ticking
+		if (list.get(index) == tickable) {
+			list.set(index, null);
+			removed = true;
+		}
+	}
+
+}
@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import pl.betoncraft.flier.api.core.FancyStuffWrapper;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+
+/**
+ * Displays the sidebar, the action bar and the experience bar of a single
+ * player. It remembers the last value sent on each channel and line, so
+ * packets are sent only when something actually changes.
+ *
+ * @author Jakub Sapalski
+ */
+public class Hud {
+	
+	/**
+	 * Parts of the HUD which are refreshed independently.
+	 */
+	public enum Channel {
+		SIDEBAR, ACTION_BAR, EXP_BAR
+	}
+
+	/**
+	 * Action bar messages fade out after a few seconds, so they need to be
+	 * sent again even if they didn't change.
+	 */
+	private static final int ACTION_BAR_KEEP_ALIVE = 40;
+	private static final String[] ENTRIES;
+	private static final int MAX_TEXT = 16;
+
+	// ammo bars by language and by ammo and max ammo
+	private static final Map<String, Map<Long, String>> ammoBars = new HashMap<>();
+
+	static {
+		ChatColor[] colors = ChatColor.values();
+		ENTRIES = new String[colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			ENTRIES[i] = colors[i].toString();
+		}
+	}
+
+	private final Player player;
+	private final Scoreboard sb;
+	private final FancyStuffWrapper fancyStuff;
+	private final int[] intervals = new int[Channel.values().length];
+	private final String[] lines = new String[ENTRIES.length];
+	private String actionBar;
+	private int actionBarAge;
+	private int tick = 0;
+
+	/**
+	 * Creates a HUD displaying stuff on the scoreboard.
+	 * 
+	 * @param player
+	 *            player who sees the HUD
+	 * @param sb
+	 *            scoreboard with the sidebar objective
+	 * @param fancyStuff
+	 *            wrapper for sending action bars
+	 * @param intervals
+	 *            refresh rates in ticks, indexed by Channel ordinals
+	 */
+	public Hud(Player player, Scoreboard sb, FancyStuffWrapper fancyStuff, int[] intervals) {
+		this.player = player;
+		this.sb = sb;
+		this.fancyStuff = fancyStuff;
+		for (int i = 0; i < this.intervals.length; i++) {
+			this.intervals[i] = Math.max(1, intervals[i]);
+		}
+	}
+
+	/**
+	 * Advances the HUD by one tick. It should be called once per tick, before
+	 * checking which channels are due.
+	 */
+	public void tick() {
+		tick++;
+		actionBarAge++;
+	}
+
+	/**
+	 * @param channel
+	 *            part of the HUD
+	 * @return whenever this channel should be refreshed in this tick
+	 */
+	public boolean isDue(Channel channel) {
+		return tick % intervals[channel.ordinal()] == 0;
+	}
+
+	/**
+	 * Displays the lines on the sidebar, from top to bottom. Only lines which
+	 * changed since the last time are sent.
+	 * 
+	 * @param texts
+	 *            texts of the lines
+	 */
+	public void setLines(List<String> texts) {
+		int size = texts.size();
+		for (int index = 0; index < lines.length; index++) {
+			// lines are counted from the bottom
+			String text = index < size ? texts.get(size - 1 - index) : null;
+			if (text != null && text.length() > MAX_TEXT) {
+				text = text.substring(0, MAX_TEXT);
+			}
+			setLine(index, text);
+		}
+	}
+
+	private void setLine(int index, String text) {
+		String last = lines[index];
+		if (text == null ? last == null : text.equals(last)) {
+			return;
+		}
+		lines[index] = text;
+		String name = ENTRIES[index];
+		if (text == null) {
+			sb.resetScores(name);
+			return;
+		}
+		if (last == null) {
+			Objective objective = sb.getObjective(DisplaySlot.SIDEBAR);
+			objective.getScore(name).setScore(index);
+		}
+		Team team = sb.getEntryTeam(name);
+		if (team == null) {
+			team = sb.registerNewTeam(name);
+			team.addEntry(name);
+		}
+		team.setPrefix(text);
+	}
+
+	/**
+	 * Displays the message on the action bar if it's different than the last
+	 * one or if the last one is about to fade out.
+	 * 
+	 * @param message
+	 *            message to display
+	 */
+	public void setActionBar(String message) {
+		if (!fancyStuff.hasActionBarHandler()) {
+			return;
+		}
+		if (message.equals(actionBar) && (message.isEmpty() || actionBarAge < ACTION_BAR_KEEP_ALIVE)) {
+			return;
+		}
+		actionBar = message;
+		actionBarAge = 0;
+		fancyStuff.sendActionBar(player, message);
+	}
+
+	/**
+	 * Sets the experience bar if it's different than what the player has.
+	 * 
+	 * @param exp
+	 *            progress of the experience bar
+	 */
+	public void setExp(float exp) {
+		if (player.getExp() != exp) {
+			player.setExp(exp);
+		}
+	}
+
+	/**
+	 * Returns the ammunition bar for the player's language. Bars are built
+	 * once for each amount of ammunition.
+	 * 
+	 * @param player
+	 *            player who will see the bar
+	 * @param ammo
+	 *            current ammunition
+	 * @param maxAmmo
+	 *            maximum ammunition
+	 * @return the translated ammunition bar
+	 */
+	public static String getAmmoBar(InGamePlayer player, int ammo, int maxAmmo) {
+		Map<Long, String> bars = ammoBars.computeIfAbsent(player.getLanguage(), k -> new HashMap<>());
+		long key = ((long) ammo << 32) | (maxAmmo & 0xFFFFFFFFL);
+		String bar = bars.get(key);
+		if (bar == null) {
+			ChatColor color;
+			if (ammo == 0) {
+				color = ChatColor.BLACK;
+			} else if (ammo > maxAmmo / 4.0 * 3.0) {
+				color = ChatColor.GREEN;
+			} else if (ammo > maxAmmo / 4.0) {
+				color = ChatColor.YELLOW;
+			} else {
+				color = ChatColor.RED;
+			}
+			String ammoChar = LangManager.getMessage(player, "ammo_char");
+			StringBuilder builder = new StringBuilder().append(color);
+			for (int i = 0; i < maxAmmo; i++) {
+				if (i == ammo) {
+					builder.append(ChatColor.BLACK);
+				}
+				builder.append(ammoChar);
+			}
+			if (ammo >= maxAmmo) {
+				builder.append(ChatColor.BLACK);
+			}
+			bar = LangManager.getMessage(player, "actionbar_ammo", builder.toString());
+			bars.put(key, bar);
+		}
+		return bar;
+	}
+
+	/**
+	 * Clears cached ammunition bars, so they are translated again.
+	 */
+	public static void clearCache() {
+		ammoBars.clear();
+	}
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.ChatColor;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Tags ItemStacks created by Flier with numbers identifying the item
+ * definition and the item instance, so they can be recognized without
+ * comparing the whole item meta. The numbers are hidden at the end of the
+ * display name as invisible color codes, because the 1.12 API doesn't have
+ * persistent item data. Both are packed into a single long.
+ *
+ * @author Jakub Sapalski
+ */
+public class ItemTag {
+
+	/**
+	 * Returned when the ItemStack has no tag.
+	 */
+	public static final long NONE = -1;
+
+	private static final String PREFIX = "" + ChatColor.RESET + ChatColor.WHITE + ChatColor.RESET;
+	private static final int DIGITS = 16;
+	private static final int LENGTH = PREFIX.length() + DIGITS * 2;
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private static final Map<String, Integer> numbers = new HashMap<>();
+	private static int instances = 0;
+
+	private ItemTag() {}
+
+	/**
+	 * Returns the number for the key, assigning a new one if this key wasn't
+	 * seen before. Numbers stay the same across reloads.
+	 * 
+	 * @param key
+	 *            unique key of the item
+	 * @return the number used in tags of this item
+	 */
+	public static int getNumber(String key) {
+		Integer number = numbers.get(key);
+		if (number == null) {
+			number = numbers.size();
+			numbers.put(key, number);
+		}
+		return number;
+	}
+
+	/**
+	 * @return a new number of an item instance, templates use 0
+	 */
+	public static int nextInstance() {
+		return ++instances;
+	}
+
+	/**
+	 * @return the tag made of the item number and the instance number
+	 */
+	public static long of(int number, int instance) {
+		return ((long) number << 32) | (instance & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Adds the tag to the display name of the ItemStack, replacing the
+	 * existing one.
+	 * 
+	 * @param stack
+	 *            ItemStack to tag
+	 * @param tag
+	 *            the tag created with {@link #of(int, int)}
+	 */
+	public static void tag(ItemStack stack, long tag) {
+		ItemMeta meta = stack.getItemMeta();
+		String name = meta.hasDisplayName() ? meta.getDisplayName() : "";
+		if (read(name) != NONE) {
+			name = name.substring(0, name.length() - LENGTH);
+		}
+		StringBuilder builder = new StringBuilder(name).append(PREFIX);
+		for (int i = DIGITS - 1; i >= 0; i--) {
+			builder.append(ChatColor.COLOR_CHAR).append(HEX[(int) (tag >>> (i * 4)) & 0xF]);
+		}
+		meta.setDisplayName(builder.toString());
+		stack.setItemMeta(meta);
+	}
+
+	/**
+	 * Reads the tag of the ItemStack. This copies the item meta, so cheaper
+	 * checks like the type should be done before.
+	 * 
+	 * @param stack
+	 *            ItemStack to read, can be null
+	 * @return the tag or {@link #NONE} if it's not tagged
+	 */
+	public static long read(ItemStack stack) {
+		if (stack == null || !stack.hasItemMeta()) {
+			return NONE;
+		}
+		ItemMeta meta = stack.getItemMeta();
+		return meta.hasDisplayName() ? read(meta.getDisplayName()) : NONE;
+	}
+
+	private static long read(String name) {
+		int start = name.length() - LENGTH;
+		if (start < 0 || !name.startsWith(PREFIX, start)) {
+			return NONE;
+		}
+		long tag = 0;
+		for (int i = start + PREFIX.length(); i < name.length(); i += 2) {
+			int digit = Character.digit(name.charAt(i + 1), 16);
+			if (name.charAt(i) != ChatColor.COLOR_CHAR || digit < 0) {
+				return NONE;
+			}
+			tag = (tag << 4) | digit;
+		}
+		return tag;
+	}
+
+}
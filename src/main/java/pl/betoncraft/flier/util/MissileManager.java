@@ -0,0 +1,396 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.Projectile;
+import org.bukkit.util.Vector;
+
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.content.Game.Attitude;
+import pl.betoncraft.flier.api.core.Attacker;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
+import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+
+/**
+ * Guides all homing missiles in a single Game. Missiles are updated together
+ * once per tick, looking for targets in the Game's TargetFinder, with
+ * attitudes between shooters and targets computed once per tick.
+ *
+ * @author Jakub Sapalski
+ */
+public class MissileManager {
+
+	private final Game game;
+	private final int maxMissiles;
+	private final int maxMissilesPerPlayer;
+
+	private final List<Missile> missiles = new ArrayList<>();
+	private final Map<InGamePlayer, Map<Target, Attitude>> attitudes = new HashMap<>();
+	private final Map<InGamePlayer, Integer> nextSound = new HashMap<>();
+	private boolean registered = false;
+
+	// reused on every tick, Bukkit copies them
+	private final Location location = new Location(null, 0, 0, 0);
+	private final Location searchCenter = new Location(null, 0, 0, 0);
+	private final Vector velocity = new Vector();
+
+	/**
+	 * Creates a missile manager for the Game.
+	 * 
+	 * @param game
+	 *            the Game in which missiles will fly
+	 * @param maxMissiles
+	 *            maximum amount of missiles in the Game
+	 * @param maxMissilesPerPlayer
+	 *            maximum amount of missiles launched by a single player
+	 */
+	public MissileManager(Game game, int maxMissiles, int maxMissilesPerPlayer) {
+		this.game = game;
+		this.maxMissiles = maxMissiles;
+		this.maxMissilesPerPlayer = maxMissilesPerPlayer;
+	}
+
+	/**
+	 * Checks if the player can launch another missile without exceeding the
+	 * limits.
+	 * 
+	 * @param shooter
+	 *            the player who wants to launch a missile
+	 * @return whether the missile can be launched
+	 */
+	public boolean canLaunch(InGamePlayer shooter) {
+		if (missiles.size() >= maxMissiles) {
+			return false;
+		}
+		int count = 0;
+		for (Missile missile : missiles) {
+			if (missile.shooter.equals(shooter) && ++count >= maxMissilesPerPlayer) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Starts guiding the missile. It should be checked with
+	 * {@link #canLaunch(InGamePlayer)} before spawning it.
+	 * 
+	 * @param entity
+	 *            the missile
+	 * @param shooter
+	 *            the player who launched the missile
+	 * @param speed
+	 *            speed of the missile
+	 * @param lifetime
+	 *            amount of ticks after which the missile is removed
+	 * @param searchRange
+	 *            distance in which the missile looks for targets
+	 * @param searchRadius
+	 *            how tight circles the missile makes after losing a target
+	 * @param maneuverability
+	 *            how fast the missile turns towards the target
+	 * @param targetFriends
+	 *            whether friendly players are targeted
+	 * @param targetSelf
+	 *            whether the shooter is targeted
+	 */
+	public void launch(Projectile entity, InGamePlayer shooter, double speed, int lifetime, int searchRange,
+			double searchRadius, double maneuverability, boolean targetFriends, boolean targetSelf) {
+		Missile missile = new Missile(entity, shooter);
+		missile.speed = speed;
+		missile.lifetime = lifetime;
+		missile.searchRange = searchRange;
+		missile.searchRadius = searchRadius;
+		missile.maneuverability = maneuverability;
+		missile.targetFriends = targetFriends;
+		missile.targetSelf = targetSelf;
+		missile.radius = searchRange / 2;
+		missile.radiusSqr = missile.radius * missile.radius;
+		missiles.add(missile);
+		if (!registered) {
+			registered = true;
+			game.getTicker().register(Phase.PROJECTILES, this::tick);
+		}
+	}
+
+	/**
+	 * @return the amount of currently guided missiles
+	 */
+	public int getLiveMissiles() {
+		return missiles.size();
+	}
+
+	/**
+	 * Stops guiding all missiles.
+	 */
+	public void clear() {
+		missiles.clear();
+		attitudes.clear();
+		nextSound.clear();
+	}
+
+	private boolean tick() {
+		int tick = game.getTicker().getCurrentTick();
+		for (Map<Target, Attitude> map : attitudes.values()) {
+			map.clear();
+		}
+		int kept = 0;
+		for (int i = 0; i < missiles.size(); i++) {
+			Missile missile = missiles.get(i);
+			if (missile.update(tick)) {
+				missiles.set(kept++, missile);
+			} else {
+				Attacker.removeAttacker(missile.entity);
+				missile.entity.remove();
+			}
+		}
+		missiles.subList(kept, missiles.size()).clear();
+		registered = !missiles.isEmpty();
+		if (!registered) {
+			attitudes.clear();
+			nextSound.clear();
+		}
+		return registered;
+	}
+
+	private Attitude getAttitude(InGamePlayer shooter, Target target) {
+		Map<Target, Attitude> map = attitudes.get(shooter);
+		if (map == null) {
+			map = new HashMap<>();
+			attitudes.put(shooter, map);
+		}
+		Attitude attitude = map.get(target);
+		if (attitude == null) {
+			attitude = game.getAttitude(target, shooter);
+			map.put(target, attitude);
+		}
+		return attitude;
+	}
+
+	private class Missile implements Predicate<Target> {
+
+		private final Projectile entity;
+		private final InGamePlayer shooter;
+		private double speed;
+		private int lifetime;
+		private int searchRange;
+		private double searchRadius;
+		private double maneuverability;
+		private boolean targetFriends;
+		private boolean targetSelf;
+		private int radius;
+		private int radiusSqr;
+
+		private Target nearest;
+		private boolean foundTarget = false;
+		private int still = 0;
+		private boolean moved = false;
+		private double lastX, lastY, lastZ;
+		// velocity is held here to avoid corruption
+		private boolean hasVelocity = false;
+		private double vx, vy, vz;
+
+		private Missile(Projectile entity, InGamePlayer shooter) {
+			this.entity = entity;
+			this.shooter = shooter;
+		}
+
+		@Override
+		public boolean test(Target t) {
+			// skip the player if he shouldn't be targeted
+			Attitude attitude = getAttitude(shooter, t);
+			if (attitude == Attitude.NEUTRAL) {
+				return false;
+			}
+			if (!targetFriends && attitude == Attitude.FRIENDLY) {
+				return false;
+			}
+			if (!targetSelf && shooter.equals(t)) {
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * @return false if the missile should be removed
+		 */
+		private boolean update(int tick) {
+			// stop if the missile does not exist
+			if (entity.isDead() || !entity.isValid() || entity.getTicksLived() >= lifetime) {
+				return false;
+			}
+			Location loc = entity.getLocation(location);
+			double x = loc.getX(), y = loc.getY(), z = loc.getZ();
+			// stop if the missile did not move for 5 ticks
+			if (moved && x == lastX && y == lastY && z == lastZ) {
+				if (++still > 5) {
+					return false;
+				}
+			} else {
+				still = 0;
+			}
+			moved = true;
+			lastX = x;
+			lastY = y;
+			lastZ = z;
+			if (!hasVelocity) {
+				Vector v = entity.getVelocity();
+				vx = v.getX();
+				vy = v.getY();
+				vz = v.getZ();
+				hasVelocity = true;
+			}
+			// get the search area
+			double length = Math.sqrt(vx * vx + vy * vy + vz * vz);
+			if (length == 0) {
+				return false;
+			}
+			double dx = vx / length, dy = vy / length, dz = vz / length;
+			searchCenter.setWorld(loc.getWorld());
+			searchCenter.setX(x + dx * radius);
+			searchCenter.setY(y + dy * radius);
+			searchCenter.setZ(z + dz * radius);
+			// if the missile tracked someone previously and he's still in the area,
+			// it should track him even if he's not the closest one
+			if (nearest == null || !test(nearest) ||
+					distanceSqr(nearest, searchCenter.getX(), searchCenter.getY(), searchCenter.getZ()) >= radiusSqr) {
+				nearest = game.getTargetFinder().nearest(searchCenter, radius, this);
+			}
+			double nx, ny, nz;
+			if (nearest != null) {
+				// target found, fly towards it
+				foundTarget = true;
+				double tx, ty, tz, tvx, tvy, tvz;
+				PlayerSnapshot snapshot = nearest instanceof InGamePlayer ?
+						((InGamePlayer) nearest).getSnapshot() : null;
+				if (snapshot != null) {
+					tx = snapshot.getCenterX();
+					ty = snapshot.getCenterY();
+					tz = snapshot.getCenterZ();
+					tvx = snapshot.getVelX();
+					tvy = snapshot.getVelY();
+					tvz = snapshot.getVelZ();
+				} else {
+					Location t = nearest.getLocation();
+					Vector tv = nearest.getVelocity();
+					tx = t.getX();
+					ty = t.getY();
+					tz = t.getZ();
+					tvx = tv.getX();
+					tvy = tv.getY();
+					tvz = tv.getZ();
+				}
+				double ax = tx - x + tvx, ay = ty - y + tvy, az = tz - z + tvz;
+				double aimLength = Math.sqrt(ax * ax + ay * ay + az * az);
+				if (aimLength > 0) {
+					double m = maneuverability / aimLength;
+					nx = dx + ax * m;
+					ny = dy + ay * m;
+					nz = dz + az * m;
+				} else {
+					nx = dx;
+					ny = dy;
+					nz = dz;
+				}
+				if (snapshot != null) {
+					lockOn((InGamePlayer) nearest, tick, x, y, z, tx, ty, tz);
+				}
+			} else if (foundTarget) {
+				// target was lost, fly in circles
+				nx = dx + dz * searchRadius;
+				ny = dy - dy * searchRadius;
+				nz = dz - dx * searchRadius;
+			} else {
+				// no target yet, fly straight
+				nx = dx;
+				ny = dy;
+				nz = dz;
+			}
+			double newLength = Math.sqrt(nx * nx + ny * ny + nz * nz);
+			if (newLength == 0) {
+				nx = dx;
+				ny = dy;
+				nz = dz;
+				newLength = 1;
+			}
+			double s = speed / newLength;
+			vx = nx * s;
+			vy = ny * s;
+			vz = nz * s;
+			entity.setVelocity(velocity.setX(vx).setY(vy).setZ(vz));
+			// spawn fire particle at rocket's location
+			loc.getWorld().spawnParticle(Particle.FLAME, x, y, z, 0);
+			return true;
+		}
+
+		private void lockOn(InGamePlayer target, int tick, double x, double y, double z,
+				double tx, double ty, double tz) {
+			// beep faster as the missile gets closer, but only once for all
+			// missiles locked on the same player
+			Integer next = nextSound.get(target);
+			if (next != null && tick < next) {
+				return;
+			}
+			double ox = x - tx, oy = y - ty, oz = z - tz;
+			double distance = Math.sqrt(ox * ox + oy * oy + oz * oz);
+			int interval = (int) (4.0 * distance / searchRange);
+			nextSound.put(target, tick + (interval <= 0 ? 1 : interval));
+			double m = distance == 0 ? 0 : 10 / distance;
+			target.getPlayer().playSound(new Location(entity.getWorld(), tx + ox * m, ty + oy * m, tz + oz * m),
+					Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1, 1);
+		}
+
+	}
+
+	private static double distanceSqr(Target target, double x, double y, double z) {
+		double tx, ty, tz;
+		PlayerSnapshot snapshot = target instanceof InGamePlayer ? ((InGamePlayer) target).getSnapshot() : null;
+		if (snapshot != null) {
+			tx = snapshot.getCenterX();
+			ty = snapshot.getCenterY();
+			tz = snapshot.getCenterZ();
+		} else {
+			Location loc = target.getLocation();
+			tx = loc.getX();
+			ty = loc.getY();
+			tz = loc.getZ();
+		}
+		tx -= x;
+		ty -= y;
+		tz -= z;
+		return tx * tx + ty * ty + tz * tz;
+	}
+
+}
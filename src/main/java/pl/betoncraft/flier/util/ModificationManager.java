@@ -26,35 +26,55 @@ package pl.betoncraft.flier.util;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import pl.betoncraft.flier.api.core.Modification;
 import pl.betoncraft.flier.api.core.Modifier;
 
 /**
- * Manages modifications to the properties.
+ * Manages modifications to the properties. Property names are interned to
+ * integer IDs and modifications are compiled into arrays indexed by them, so
+ * reading a property doesn't parse anything.
  *
  * @author Jakub Sapalski
  */
 public class ModificationManager {
 	
+	private static final Map<String, Integer> ids = new HashMap<>();
+	
+	private static final byte NONE = 0;
+	private static final byte FALSE = 1;
+	private static final byte TRUE = 2;
+	
 	private Set<Modification> mods = new HashSet<>();
-	private Map<String, SpecializedModifier> compiled = new HashMap<>();
-	
-	private class SpecializedModifier {
-		private String string = null;
-		private Double number = null;
-		private Boolean bool = null;
-		private double multi = 1;
-		private double bonus = 0;
+	private boolean modified = false;
+	private double[] multi = new double[0];
+	private double[] bonus = new double[0];
+	private double[] override = new double[0];
+	private String[] string = new String[0];
+	private byte[] bool = new byte[0];
+	
+	/**
+	 * Returns the ID of the property, assigning a new one if this property
+	 * wasn't seen before.
+	 * 
+	 * @param property
+	 *            name of the property
+	 * @return the ID of the property
+	 */
+	public static int getPropertyId(String property) {
+		Integer id = ids.get(property);
+		if (id == null) {
+			id = ids.size();
+			ids.put(property, id);
+		}
+		return id;
 	}
 	
 	public void clear() {
 		mods.clear();
-		compiled.clear();
+		compile();
 	}
 	
 	public void addModification(Modification mod) {
@@ -70,43 +90,33 @@ public class ModificationManager {
 	}
 	
 	private void compile() {
-		compiled.clear();
+		modified = !mods.isEmpty();
+		int size = 0;
 		for (Modification mod : mods) {
 			for (Modifier m : mod.getModifiers()) {
-				SpecializedModifier spec = getSpec(m.getProperty());
-				// parse multiplying and adding
-				String value = m.getValue();
-				boolean notValue = false;
-				List<String> parts = value.contains(",") ?
-						Arrays.asList(value.split(",")).stream().map(s -> s.trim()).collect(Collectors.toList()) :
-						Arrays.asList(new String[]{value});
-				for (String part : parts) {
-					if (part.startsWith("*(") && part.endsWith(")")) {
-						try {
-							spec.multi += Double.parseDouble(part.substring(2, part.length() - 1));
-							notValue = true;
-						} catch (NumberFormatException e) {
-							// nothing, this probably is just text
-						}
-					} else if (part.startsWith("+(") && part.endsWith(")")) {
-						try {
-							spec.bonus += Double.parseDouble(part.substring(2, part.length() - 1));
-							notValue = true;
-						} catch (NumberFormatException e) {
-							// nothing, this probably is just text
-						}
-					}
-				}
+				size = Math.max(size, m.getPropertyId() + 1);
+			}
+		}
+		multi = new double[size];
+		bonus = new double[size];
+		override = new double[size];
+		string = new String[size];
+		bool = new byte[size];
+		Arrays.fill(multi, 1);
+		Arrays.fill(override, Double.NaN);
+		for (Modification mod : mods) {
+			for (Modifier m : mod.getModifiers()) {
+				int id = m.getPropertyId();
+				multi[id] += m.getMultiplier();
+				bonus[id] += m.getBonus();
 				// if it's not a number modifier then it's a value and needs to be saved
-				if (!notValue) {
-					spec.string = value;
-					try {
-						spec.number = Double.parseDouble(value);
-					} catch (NumberFormatException e) {
-						// not a number, huh
+				if (m.isValue()) {
+					string[id] = m.getValue();
+					if (m.getNumber() != null) {
+						override[id] = m.getNumber();
 					}
-					if (value.equals("true") || value.equals("false")) {
-						spec.bool = Boolean.parseBoolean(value);
+					if (m.getBoolean() != null) {
+						bool[id] = m.getBoolean() ? TRUE : FALSE;
 					}
 				}
 			}
@@ -114,37 +124,61 @@ public class ModificationManager {
 	}
 	
 	public double modifyNumber(String property, double value) {
-		SpecializedModifier spec = getSpec(property);
-		if (spec.number != null) {
-			value = spec.number;
+		return modifyNumber(getId(property), value);
+	}
+	
+	/**
+	 * Modifies the number using the ID of the property. Use it when the
+	 * property is read often, with an ID obtained once from
+	 * {@link #getPropertyId(String)}.
+	 */
+	public double modifyNumber(int property, double value) {
+		int id = index(property);
+		if (id < 0) {
+			return value;
+		}
+		if (!Double.isNaN(override[id])) {
+			value = override[id];
 		}
-		value *= spec.multi;
-		value += spec.bonus;
+		value *= multi[id];
+		value += bonus[id];
 		return value;
 	}
 	
 	public String modifyString(String property, String value) {
-		SpecializedModifier spec = getSpec(property);
-		if (spec.string != null) {
-			value = spec.string;
+		return modifyString(getId(property), value);
+	}
+	
+	public String modifyString(int property, String value) {
+		int id = index(property);
+		if (id >= 0 && string[id] != null) {
+			value = string[id];
 		}
 		return value;
 	}
 	
-	public boolean modifyBoolean(String property, boolean bool) {
-		SpecializedModifier spec = getSpec(property);
-		if (spec.bool != null) {
-			bool = spec.bool;
+	public boolean modifyBoolean(String property, boolean value) {
+		return modifyBoolean(getId(property), value);
+	}
+	
+	public boolean modifyBoolean(int property, boolean value) {
+		int id = index(property);
+		if (id >= 0 && bool[id] != NONE) {
+			value = bool[id] == TRUE;
 		}
-		return bool;
+		return value;
 	}
 
-	@SuppressWarnings("unchecked")
 	public <T extends Enum<T>> T modifyEnum(String property, T en) {
-		SpecializedModifier spec = getSpec(property);
-		if (spec.string != null) {
+		return modifyEnum(getId(property), en);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends Enum<T>> T modifyEnum(int property, T en) {
+		int id = index(property);
+		if (id >= 0 && string[id] != null) {
 			try {
-				en = (T) Enum.valueOf(en.getClass(), spec.string);
+				en = (T) Enum.valueOf(en.getClass(), string[id]);
 			} catch (IllegalArgumentException e) {
 				// not an enum, huh
 			}
@@ -152,8 +186,23 @@ public class ModificationManager {
 		return en;
 	}
 	
-	private SpecializedModifier getSpec(String property) {
-		return compiled.computeIfAbsent(property, k -> new SpecializedModifier());
+	/**
+	 * @return the ID of the property or -1 if it's not modified
+	 */
+	private int getId(String property) {
+		if (!modified) {
+			return -1;
+		}
+		Integer id = ids.get(property);
+		return id == null ? -1 : id;
+	}
+	
+	/**
+	 * @return the index of the property in compiled arrays or -1 if it's not
+	 *         modified
+	 */
+	private int index(int id) {
+		return !modified || id < 0 || id >= multi.length ? -1 : id;
 	}
 
 }
@@ -23,9 +23,7 @@
  */
 package pl.betoncraft.flier.util;
 
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.Player;
-
+import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.Usage;
 
 /**
@@ -34,15 +32,12 @@ import pl.betoncraft.flier.api.core.Usage;
  * @author Jakub Sapalski
  */
 public class Position {
-	
-	private static final int AIR = 2;
 
-	public static boolean check(Player player, Usage.Where position) {
-		boolean ground = ((Entity) player.getPlayer()).isOnGround() ||
-				Utils.getAltitude(player.getPlayer().getLocation(), AIR) < AIR;
-		boolean air = !ground && player.getPlayer().isGliding() &&
-				Utils.getAltitude(player.getPlayer().getLocation(), AIR) == AIR;
-		boolean fall = !ground && !air;
+	public static boolean check(InGamePlayer data, Usage.Where position) {
+		Usage.Where current = get(data);
+		boolean ground = current == Usage.Where.GROUND;
+		boolean air = current == Usage.Where.AIR;
+		boolean fall = current == Usage.Where.FALL;
 		switch (position) {
 		case GROUND:	 return ground;
 		case AIR:		 return air;
@@ -55,16 +50,8 @@ public class Position {
 		return false;
 	}
 	
-	public static Usage.Where get(Player player) {
-		boolean ground = ((Entity) player.getPlayer()).isOnGround();
-		boolean air = !ground && player.getPlayer().isGliding() && Utils.getAltitude(player.getPlayer().getLocation(), AIR) == AIR;
-		if (ground) {
-			return Usage.Where.GROUND;
-		} else if (air) {
-			return Usage.Where.AIR;
-		} else {
-			return Usage.Where.FALL;
-		}
+	public static Usage.Where get(InGamePlayer data) {
+		return data.getSnapshot().getPosition();
 	}
 
 }
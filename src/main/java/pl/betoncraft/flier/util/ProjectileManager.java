@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.Arrays;
+
+import org.bukkit.entity.Projectile;
+import org.bukkit.util.Vector;
+
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.core.Attacker;
+import pl.betoncraft.flier.api.core.Ticker.Phase;
+
+/**
+ * Keeps all projectiles launched by guns in a single Game and makes them fly
+ * straight by resetting their velocity every tick. Projectiles are kept in
+ * launch order, so the oldest ones are removed when the limit is reached.
+ *
+ * @author Jakub Sapalski
+ */
+public class ProjectileManager {
+
+	private final Game game;
+	private final int maxProjectiles;
+
+	// circular buffer of projectiles, in launch order
+	private Projectile[] projectiles;
+	private double[] velX, velY, velZ;
+	private int[] expire;
+	private int head = 0;
+	private int size = 0;
+	private boolean registered = false;
+	private final Vector velocity = new Vector();
+
+	private int peak = 0;
+	private long launched = 0;
+	private long evicted = 0;
+
+	/**
+	 * Creates a projectile manager for the Game.
+	 * 
+	 * @param game
+	 *            the Game in which projectiles will fly
+	 * @param maxProjectiles
+	 *            maximum amount of projectiles, the oldest ones will be
+	 *            removed if it's reached
+	 */
+	public ProjectileManager(Game game, int maxProjectiles) {
+		this.game = game;
+		this.maxProjectiles = maxProjectiles;
+		allocate(16);
+	}
+
+	/**
+	 * Starts tracking the projectile.
+	 * 
+	 * @param projectile
+	 *            launched projectile
+	 * @param velocity
+	 *            the velocity which the projectile will keep
+	 * @param lifetime
+	 *            amount of ticks after which the velocity is no longer kept
+	 */
+	public void add(Projectile projectile, Vector velocity, int lifetime) {
+		if (size >= maxProjectiles) {
+			// remove the oldest projectile
+			Projectile oldest = projectiles[head];
+			Attacker.removeAttacker(oldest);
+			oldest.remove();
+			projectiles[head] = null;
+			head = (head + 1) & (projectiles.length - 1);
+			size--;
+			evicted++;
+		}
+		if (size == projectiles.length) {
+			allocate(projectiles.length * 2);
+		}
+		int i = (head + size) & (projectiles.length - 1);
+		projectiles[i] = projectile;
+		velX[i] = velocity.getX();
+		velY[i] = velocity.getY();
+		velZ[i] = velocity.getZ();
+		expire[i] = game.getTicker().getCurrentTick() + lifetime;
+		size++;
+		launched++;
+		peak = Math.max(peak, size);
+		if (!registered) {
+			registered = true;
+			game.getTicker().register(Phase.PROJECTILES, this::tick);
+		}
+	}
+
+	/**
+	 * @return the amount of currently tracked projectiles
+	 */
+	public int getLiveProjectiles() {
+		return size;
+	}
+
+	/**
+	 * @return the highest amount of projectiles tracked at the same time
+	 */
+	public int getPeakProjectiles() {
+		return peak;
+	}
+
+	/**
+	 * @return the total amount of launched projectiles
+	 */
+	public long getLaunchedProjectiles() {
+		return launched;
+	}
+
+	/**
+	 * @return the amount of projectiles removed because of the limit
+	 */
+	public long getEvictedProjectiles() {
+		return evicted;
+	}
+
+	/**
+	 * Stops tracking all projectiles.
+	 */
+	public void clear() {
+		Arrays.fill(projectiles, null);
+		head = 0;
+		size = 0;
+	}
+
+	private boolean tick() {
+		int mask = projectiles.length - 1;
+		int tick = game.getTicker().getCurrentTick();
+		int kept = 0;
+		// update velocities and move live projectiles to the front
+		for (int r = 0; r < size; r++) {
+			int from = (head + r) & mask;
+			Projectile projectile = projectiles[from];
+			projectiles[from] = null;
+			if (!projectile.isValid() || tick >= expire[from]) {
+				continue;
+			}
+			// the vector is copied by Bukkit, so it can be reused
+			projectile.setVelocity(velocity.setX(velX[from]).setY(velY[from]).setZ(velZ[from]));
+			int to = (head + kept++) & mask;
+			projectiles[to] = projectile;
+			velX[to] = velX[from];
+			velY[to] = velY[from];
+			velZ[to] = velZ[from];
+			expire[to] = expire[from];
+		}
+		size = kept;
+		registered = size > 0;
+		return registered;
+	}
+
+	private void allocate(int capacity) {
+		Projectile[] oldProjectiles = projectiles;
+		double[] oldX = velX, oldY = velY, oldZ = velZ;
+		int[] oldExpire = expire;
+		projectiles = new Projectile[capacity];
+		velX = new double[capacity];
+		velY = new double[capacity];
+		velZ = new double[capacity];
+		expire = new int[capacity];
+		if (oldProjectiles != null) {
+			// unroll the buffer so it starts at 0
+			int mask = oldProjectiles.length - 1;
+			for (int i = 0; i < size; i++) {
+				int from = (head + i) & mask;
+				projectiles[i] = oldProjectiles[from];
+				velX[i] = oldX[from];
+				velY[i] = oldY[from];
+				velZ[i] = oldZ[from];
+				expire[i] = oldExpire[from];
+			}
+		}
+		head = 0;
+	}
+
+}
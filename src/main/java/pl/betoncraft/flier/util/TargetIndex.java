@@ -0,0 +1,298 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.bukkit.Location;
+
+import pl.betoncraft.flier.api.content.Game;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
+import pl.betoncraft.flier.api.core.Target;
+import pl.betoncraft.flier.api.core.TargetFinder;
+
+/**
+ * A uniform grid over the Game's arena, containing positions of all Targets.
+ * It's rebuilt lazily, at most once per tick, when the first query in that
+ * tick is made. Positions are the ones Targets had at the moment of
+ * rebuilding, which is good enough for proximity checks. Targets outside of
+ * the arena are stored in the border cells, so they can still be found.
+ *
+ * @author Jakub Sapalski
+ */
+public class TargetIndex implements TargetFinder {
+
+	private static final int MAX_CELLS_PER_SIDE = 32;
+	private static final double MIN_CELL_SIZE = 8;
+
+	private final Game game;
+	private final double originX;
+	private final double originZ;
+	private final double cellSize;
+	private final int side;
+	private final int[] cellStart;
+	private final int[] cellFill;
+
+	private Target[] targets = new Target[16];
+	private double[] xs = new double[16];
+	private double[] ys = new double[16];
+	private double[] zs = new double[16];
+	private int[] cells = new int[16];
+	private Target[] sorted = new Target[16];
+	private double[] sortedX = new double[16];
+	private double[] sortedY = new double[16];
+	private double[] sortedZ = new double[16];
+	private int size = 0;
+	private int builtTick = -1;
+
+	/**
+	 * Creates an index for the Game's arena.
+	 * 
+	 * @param game
+	 *            the Game which Targets will be indexed
+	 * @param center
+	 *            center of the arena
+	 * @param radius
+	 *            radius of the arena
+	 */
+	public TargetIndex(Game game, Location center, int radius) {
+		this.game = game;
+		cellSize = Math.max(MIN_CELL_SIZE, 2.0 * radius / MAX_CELLS_PER_SIDE);
+		side = (int) Math.ceil(2.0 * radius / cellSize) + 1;
+		originX = center.getX() - radius;
+		originZ = center.getZ() - radius;
+		cellStart = new int[side * side + 1];
+		cellFill = new int[side * side];
+	}
+
+	@Override
+	public void invalidate() {
+		builtTick = -1;
+	}
+
+	@Override
+	public List<Target> inRadius(Location loc, double radius) {
+		update();
+		List<Target> list = Collections.emptyList();
+		double x = loc.getX(), y = loc.getY(), z = loc.getZ();
+		double radiusSqr = radius * radius;
+		int minCX = cellX(x - radius), maxCX = cellX(x + radius);
+		int minCZ = cellZ(z - radius), maxCZ = cellZ(z + radius);
+		for (int cz = minCZ; cz <= maxCZ; cz++) {
+			int row = cz * side;
+			for (int i = cellStart[row + minCX]; i < cellStart[row + maxCX + 1]; i++) {
+				double dx = sortedX[i] - x, dy = sortedY[i] - y, dz = sortedZ[i] - z;
+				if (dx * dx + dy * dy + dz * dz <= radiusSqr) {
+					if (list.isEmpty()) {
+						list = new ArrayList<>();
+					}
+					list.add(sorted[i]);
+				}
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public List<Target> inCone(double sx, double sy, double sz, double dx, double dy, double dz,
+			double length, double slope, double margin) {
+		update();
+		List<Target> list = Collections.emptyList();
+		double reach = length + margin;
+		int minCX = cellX(sx - reach), maxCX = cellX(sx + reach);
+		int minCZ = cellZ(sz - reach), maxCZ = cellZ(sz + reach);
+		for (int cz = minCZ; cz <= maxCZ; cz++) {
+			int row = cz * side;
+			for (int i = cellStart[row + minCX]; i < cellStart[row + maxCX + 1]; i++) {
+				double px = sortedX[i] - sx, py = sortedY[i] - sy, pz = sortedZ[i] - sz;
+				double along = px * dx + py * dy + pz * dz;
+				if (along < 0 || along > length) {
+					continue;
+				}
+				double ox = px - dx * along, oy = py - dy * along, oz = pz - dz * along;
+				double width = along * slope + margin;
+				if (ox * ox + oy * oy + oz * oz <= width * width) {
+					if (list.isEmpty()) {
+						list = new ArrayList<>();
+					}
+					list.add(sorted[i]);
+				}
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public Target nearest(Location loc, double maxDistance, Predicate<Target> filter) {
+		update();
+		double x = loc.getX(), y = loc.getY(), z = loc.getZ();
+		double bestSqr = maxDistance == Double.MAX_VALUE ? Double.MAX_VALUE : maxDistance * maxDistance;
+		Target best = null;
+		int centerCX = cellX(x), centerCZ = cellZ(z);
+		// search rings of cells around the center cell, Targets in each ring
+		// are at least (ring - 1) cells away, so it can stop early
+		for (int ring = 0; ring < side; ring++) {
+			double bound = (ring - 1) * cellSize;
+			if (bound > 0 && bound * bound > bestSqr) {
+				break;
+			}
+			int minCX = centerCX - ring, maxCX = centerCX + ring;
+			int minCZ = centerCZ - ring, maxCZ = centerCZ + ring;
+			for (int cz = Math.max(minCZ, 0); cz <= Math.min(maxCZ, side - 1); cz++) {
+				boolean edge = cz == minCZ || cz == maxCZ;
+				int row = cz * side;
+				for (int cx = Math.max(minCX, 0); cx <= Math.min(maxCX, side - 1); cx++) {
+					// inner cells were already checked in previous rings
+					if (!edge && cx != minCX && cx != maxCX) {
+						continue;
+					}
+					for (int i = cellStart[row + cx]; i < cellStart[row + cx + 1]; i++) {
+						double dx = sortedX[i] - x, dy = sortedY[i] - y, dz = sortedZ[i] - z;
+						double d = dx * dx + dy * dy + dz * dz;
+						if (d < bestSqr && filter.test(sorted[i])) {
+							bestSqr = d;
+							best = sorted[i];
+						}
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	@Override
+	public Target nearestToSegment(Location start, Location end, double proximitySqr, Predicate<Target> filter) {
+		return nearestToSegment(start.getX(), start.getY(), start.getZ(), end.getX(), end.getY(), end.getZ(),
+				proximitySqr, filter);
+	}
+
+	@Override
+	public Target nearestToSegment(double sx, double sy, double sz, double ex, double ey, double ez,
+			double proximitySqr, Predicate<Target> filter) {
+		update();
+		double ux = ex - sx, uy = ey - sy, uz = ez - sz;
+		double lengthSqr = ux * ux + uy * uy + uz * uz;
+		double margin = Math.sqrt(proximitySqr);
+		int minCX = cellX(Math.min(sx, sx + ux) - margin), maxCX = cellX(Math.max(sx, sx + ux) + margin);
+		int minCZ = cellZ(Math.min(sz, sz + uz) - margin), maxCZ = cellZ(Math.max(sz, sz + uz) + margin);
+		Target best = null;
+		double bestSqr = Double.MAX_VALUE;
+		for (int cz = minCZ; cz <= maxCZ; cz++) {
+			int row = cz * side;
+			for (int i = cellStart[row + minCX]; i < cellStart[row + maxCX + 1]; i++) {
+				double px = sortedX[i] - sx, py = sortedY[i] - sy, pz = sortedZ[i] - sz;
+				// project the Target onto the segment
+				double t = lengthSqr == 0 ? 0 : (px * ux + py * uy + pz * uz) / lengthSqr;
+				t = t < 0 ? 0 : t > 1 ? 1 : t;
+				double dx = px - ux * t, dy = py - uy * t, dz = pz - uz * t;
+				if (dx * dx + dy * dy + dz * dz >= proximitySqr) {
+					continue;
+				}
+				double d = px * px + py * py + pz * pz;
+				if (d < bestSqr && filter.test(sorted[i])) {
+					bestSqr = d;
+					best = sorted[i];
+				}
+			}
+		}
+		return best;
+	}
+
+	private int cellX(double x) {
+		int c = (int) Math.floor((x - originX) / cellSize);
+		return c < 0 ? 0 : c >= side ? side - 1 : c;
+	}
+
+	private int cellZ(double z) {
+		int c = (int) Math.floor((z - originZ) / cellSize);
+		return c < 0 ? 0 : c >= side ? side - 1 : c;
+	}
+
+	private void update() {
+		int tick = game.getTicker().getCurrentTick();
+		if (builtTick == tick) {
+			return;
+		}
+		builtTick = tick;
+		size = game.getTargets().size();
+		if (targets.length < size) {
+			int capacity = Math.max(size, targets.length * 2);
+			targets = new Target[capacity];
+			xs = new double[capacity];
+			ys = new double[capacity];
+			zs = new double[capacity];
+			cells = new int[capacity];
+			sorted = new Target[capacity];
+			sortedX = new double[capacity];
+			sortedY = new double[capacity];
+			sortedZ = new double[capacity];
+		}
+		// gather positions and count Targets in every cell
+		Arrays.fill(cellFill, 0);
+		int i = 0;
+		for (Target target : game.getTargets().values()) {
+			targets[i] = target;
+			if (target instanceof InGamePlayer && ((InGamePlayer) target).getSnapshot() != null) {
+				// players have their position captured already
+				PlayerSnapshot snapshot = ((InGamePlayer) target).getSnapshot();
+				xs[i] = snapshot.getCenterX();
+				ys[i] = snapshot.getCenterY();
+				zs[i] = snapshot.getCenterZ();
+			} else {
+				Location loc = target.getLocation();
+				xs[i] = loc.getX();
+				ys[i] = loc.getY();
+				zs[i] = loc.getZ();
+			}
+			cells[i] = cellZ(zs[i]) * side + cellX(xs[i]);
+			cellFill[cells[i]]++;
+			i++;
+		}
+		// calculate where each cell starts
+		cellStart[0] = 0;
+		for (int c = 0; c < cellFill.length; c++) {
+			cellStart[c + 1] = cellStart[c] + cellFill[c];
+			cellFill[c] = cellStart[c];
+		}
+		// put Targets into their cells
+		for (int j = 0; j < size; j++) {
+			int index = cellFill[cells[j]]++;
+			sorted[index] = targets[j];
+			sortedX[index] = xs[j];
+			sortedY[index] = ys[j];
+			sortedZ[index] = zs[j];
+			targets[j] = null;
+		}
+		// drop references to Targets which are no longer in the Game
+		for (int j = size; j < sorted.length && sorted[j] != null; j++) {
+			sorted[j] = null;
+		}
+	}
+
+}
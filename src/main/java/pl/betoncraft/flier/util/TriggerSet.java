@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.BitSet;
+
+/**
+ * A set of trigger IDs. The first 64 triggers are stored in a single long,
+ * a BitSet is used only for more of them.
+ *
+ * @author Jakub Sapalski
+ */
+public class TriggerSet {
+
+	private long mask = 0;
+	private BitSet more;
+
+	/**
+	 * Adds the trigger to this set.
+	 * 
+	 * @param id
+	 *            ID of the trigger
+	 */
+	public void add(int id) {
+		if (id < 0) {
+			return;
+		}
+		if (id < 64) {
+			mask |= 1L << id;
+		} else {
+			if (more == null) {
+				more = new BitSet();
+			}
+			more.set(id - 64);
+		}
+	}
+
+	/**
+	 * @param id
+	 *            ID of the trigger
+	 * @return whenever this set contains the trigger
+	 */
+	public boolean contains(int id) {
+		if (id < 0) {
+			return false;
+		}
+		if (id < 64) {
+			return (mask & (1L << id)) != 0;
+		}
+		return more != null && more.get(id - 64);
+	}
+
+	/**
+	 * @return whenever there are no triggers in this set
+	 */
+	public boolean isEmpty() {
+		return mask == 0 && (more == null || more.isEmpty());
+	}
+
+	/**
+	 * Removes all triggers from this set.
+	 */
+	public void clear() {
+		mask = 0;
+		if (more != null) {
+			more.clear();
+		}
+	}
+
+	/**
+	 * Returns the first trigger in this set with ID equal to or greater than
+	 * specified one. Use it to iterate over triggers.
+	 * 
+	 * @param from
+	 *            the ID to start from
+	 * @return the ID of the next trigger or {@link Triggers#NONE} if there are
+	 *         no more
+	 */
+	public int next(int from) {
+		if (from < 64) {
+			long rest = mask & (-1L << Math.max(from, 0));
+			if (rest != 0) {
+				return Long.numberOfTrailingZeros(rest);
+			}
+			from = 64;
+		}
+		if (more == null) {
+			return Triggers.NONE;
+		}
+		int next = more.nextSetBit(from - 64);
+		return next < 0 ? Triggers.NONE : next + 64;
+	}
+
+}
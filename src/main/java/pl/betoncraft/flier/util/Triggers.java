@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns small integer IDs to trigger names, so triggers can be stored in a
+ * TriggerSet and checked without comparing strings.
+ *
+ * @author Jakub Sapalski
+ */
+public class Triggers {
+
+	/**
+	 * Used when there is no trigger.
+	 */
+	public static final int NONE = -1;
+
+	private static final Map<String, Integer> ids = new HashMap<>();
+	private static final List<String> names = new ArrayList<>();
+
+	/**
+	 * The player clicked with the left mouse button.
+	 */
+	public static final int LEFT_CLICK = getId("left_click");
+
+	/**
+	 * The player clicked with the right mouse button.
+	 */
+	public static final int RIGHT_CLICK = getId("right_click");
+
+	private Triggers() {}
+
+	/**
+	 * Returns the ID of the trigger, assigning a new one if this name wasn't
+	 * seen before. IDs stay the same across reloads.
+	 * 
+	 * @param name
+	 *            name of the trigger
+	 * @return the ID of the trigger
+	 */
+	public static int getId(String name) {
+		Integer id = ids.get(name);
+		if (id == null) {
+			id = names.size();
+			ids.put(name, id);
+			names.add(name);
+		}
+		return id;
+	}
+
+	/**
+	 * @param id
+	 *            ID of the trigger
+	 * @return the name of the trigger or null if there is no such ID
+	 */
+	public static String getName(int id) {
+		return id >= 0 && id < names.size() ? names.get(id) : null;
+	}
+
+	/**
+	 * @return the amount of known triggers; all IDs are lower than that
+	 */
+	public static int count() {
+		return names.size();
+	}
+
+}
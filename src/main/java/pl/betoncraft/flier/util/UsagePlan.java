@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pl.betoncraft.flier.api.content.Activator;
+import pl.betoncraft.flier.api.content.Activator.Wake;
+import pl.betoncraft.flier.api.core.InGamePlayer;
+import pl.betoncraft.flier.api.core.Usage;
+
+/**
+ * Checks the position and activators of a Usage in the order which should be
+ * the cheapest. Activators are sorted by their cost divided by the chance of
+ * failing, measured while checking them. Activators which count their checks
+ * or which are unknown keep their place, others are only moved between them.
+ *
+ * @author Jakub Sapalski
+ */
+public class UsagePlan {
+
+	/**
+	 * The amount of checks after which the order is planned again.
+	 */
+	private static final int REPLAN_INTERVAL = 256;
+	private static final int POSITION_COST = 1;
+	private static final int POSITION = -1;
+
+	private final Usage usage;
+	private final List<Activator> activators;
+	// step -1 is the position check, others are indexes of activators
+	private final int[] order;
+	private final long[] checks;
+	private final long[] passes;
+	private int untilReplan = 0;
+
+	public UsagePlan(Usage usage, List<Activator> activators) {
+		this.usage = usage;
+		this.activators = activators;
+		int steps = activators.size() + 1;
+		order = new int[steps];
+		checks = new long[steps];
+		passes = new long[steps];
+		for (int i = 0; i < steps; i++) {
+			order[i] = i - 1;
+		}
+	}
+
+	/**
+	 * Checks whenever the Usage can be used.
+	 * 
+	 * @param player
+	 *            the player who uses the Usage
+	 * @param source
+	 *            the player from whom the Usage originates
+	 * @return true if the position is correct and all activators are active
+	 */
+	public boolean check(InGamePlayer player, InGamePlayer source) {
+		if (--untilReplan <= 0) {
+			plan();
+		}
+		for (int step : order) {
+			boolean passed = step == POSITION ? usage.canUse(player) : activators.get(step).isActive(player, source);
+			checks[step + 1]++;
+			if (!passed) {
+				return false;
+			}
+			passes[step + 1]++;
+		}
+		return true;
+	}
+
+	/**
+	 * Sorts steps between fixed activators by their rank.
+	 */
+	private void plan() {
+		untilReplan = REPLAN_INTERVAL;
+		int start = 0;
+		while (start < order.length) {
+			int end = start;
+			while (end < order.length && isMovable(end - 1)) {
+				end++;
+			}
+			// insertion sort, there are only a few steps
+			for (int i = start + 1; i < end; i++) {
+				int step = order[i];
+				double rank = rank(step);
+				int j = i - 1;
+				while (j >= start && rank(order[j]) > rank) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				order[j + 1] = step;
+			}
+			// the fixed activator stays where it was declared
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * Fixed activators are identified by their declared index, which is also
+	 * their place in the order, because nothing is moved across them.
+	 */
+	private boolean isMovable(int declared) {
+		if (declared == POSITION) {
+			return true;
+		}
+		Wake wake = activators.get(declared).getWake();
+		return wake == Wake.TRIGGER || wake == Wake.STATE;
+	}
+
+	private double rank(int step) {
+		// the chance is smoothed, so unchecked steps are assumed to pass half of the time
+		double pass = (passes[step + 1] + 1.0) / (checks[step + 1] + 2.0);
+		return getCost(step) / (1.0 - pass);
+	}
+
+	private int getCost(int step) {
+		return step == POSITION ? POSITION_COST : activators.get(step).getCost();
+	}
+
+	/**
+	 * Describes the current order of checks, with their costs and the
+	 * percentage of checks which have passed.
+	 * 
+	 * @return a line for every check, in the current order
+	 */
+	public List<String> describe() {
+		List<String> lines = new ArrayList<>(order.length);
+		for (int step : order) {
+			String name = step == POSITION ? "position (" + usage.where().name().toLowerCase() + ")"
+					: activators.get(step).getID();
+			long checked = checks[step + 1];
+			String rate = checked == 0 ? "-" : String.format("%.1f%%", 100.0 * passes[step + 1] / checked);
+			lines.add(String.format("%s, cost %d, passed %s of %d", name, getCost(step), rate, checked));
+		}
+		return lines;
+	}
+
+}
@@ -126,7 +126,7 @@ public class Utils {
 	 * @return the formatted item
 	 */
 	public static String formatItem(UsableItem item, InGamePlayer receiver) {
-		ItemStack stack = item.getItem(receiver);
+		ItemStack stack = item.getTemplate(receiver);
 		return ChatColor.WHITE + "[" + stack.getItemMeta().getDisplayName() + ChatColor.WHITE + "]";
 	}
 
@@ -176,9 +176,21 @@ public class Utils {
 	 * 
 	 * @param player
 	 */
-	@SuppressWarnings("deprecation")
 	public static void clearPlayer(Player player) {
-		player.getInventory().clear();
+		clearPlayer(player, true);
+	}
+	
+	/**
+	 * Clears all player's stuff, optionally leaving the inventory as it is.
+	 * 
+	 * @param player
+	 * @param inventory whether to clear the inventory
+	 */
+	@SuppressWarnings("deprecation")
+	public static void clearPlayer(Player player, boolean inventory) {
+		if (inventory) {
+			player.getInventory().clear();
+		}
 		player.setGameMode(GameMode.SURVIVAL);
 		try {
 			player.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(
@@ -23,6 +23,11 @@
  */
 package pl.betoncraft.flier.util;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
 import org.bukkit.Location;
 import org.bukkit.configuration.ConfigurationSection;
 
@@ -31,30 +36,77 @@ import pl.betoncraft.flier.api.core.LoadingException;
 /**
  * Contains functions used to load various values from the ConfigurationSection
  * and fail when they are missing.
+ * <p>
+ * Values are parsed and validated once per section. Definitions keep the same
+ * section until the plugin is reloaded, so objects created from them for
+ * every player copy already parsed values instead of reading YAML again.
  *
  * @author Jakub Sapalski
  */
 public class ValueLoader {
 	
+	// sections are compared by identity, old ones are dropped after a reload
+	private static final Map<ConfigurationSection, Map<String, Parsed>> cache = new WeakHashMap<>();
+	
 	private ConfigurationSection section;
+	private Map<String, Parsed> parsed;
+	
+	private static class Parsed {
+		private final String type;
+		private final Object def;
+		private final Object value;
+		
+		private Parsed(String type, Object def, Object value) {
+			this.type = type;
+			this.def = def;
+			this.value = value;
+		}
+	}
+	
+	private interface Parser<T> {
+		public T parse() throws LoadingException;
+	}
 	
 	public ValueLoader(ConfigurationSection section) {
 		this.section = section;
 		if (section == null) {
 			throw new NullPointerException("ConfigurationSection is null");
 		}
+		parsed = cache.computeIfAbsent(section, s -> new HashMap<>());
 	}
 	
-	public String loadString(String address) throws LoadingException {
-		String value = section.getString(address, null);
-		if (value == null) {
-			throw new LoadingException(String.format("'%s' must be specified.", address));
+	/**
+	 * Returns the value parsed earlier by the same method with the same
+	 * default, or parses it now. Errors are not remembered, they stop the
+	 * loading anyway.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T parsed(String address, String type, Object def, Parser<T> parser) throws LoadingException {
+		Parsed value = parsed.get(address);
+		if (value != null && value.type.equals(type) && Objects.equals(value.def, def)) {
+			return (T) value.value;
 		}
-		return value;
+		T result = parser.parse();
+		parsed.put(address, new Parsed(type, def, result));
+		return result;
+	}
+	
+	public String loadString(String address) throws LoadingException {
+		return parsed(address, "string", null, () -> {
+			String value = section.getString(address, null);
+			if (value == null) {
+				throw new LoadingException(String.format("'%s' must be specified.", address));
+			}
+			return value;
+		});
 	}
 	
 	public String loadString(String address, String def) {
-		return section.getString(address, def);
+		try {
+			return parsed(address, "string", def, () -> section.getString(address, def));
+		} catch (LoadingException e) {
+			return def; // the parser doesn't throw
+		}
 	}
 	
 	private Object get(String address, Object def) throws LoadingException {
@@ -68,12 +120,14 @@ public class ValueLoader {
 	}
 	
 	public double loadDouble(String address, Double def) throws LoadingException {
-		Object obj = get(address, def);
-		if (obj instanceof Number) {
-			return ((Number) obj).doubleValue();
-		} else {
-			throw new LoadingException(String.format("'%s' must be a decimal.", address));
-		}
+		return parsed(address, "double", def, () -> {
+			Object obj = get(address, def);
+			if (obj instanceof Number) {
+				return ((Number) obj).doubleValue();
+			} else {
+				throw new LoadingException(String.format("'%s' must be a decimal.", address));
+			}
+		});
 	}
 	
 	public double loadDouble(String address) throws LoadingException {
@@ -105,12 +159,14 @@ public class ValueLoader {
 	}
 	
 	public int loadInt(String address, Integer def) throws LoadingException {
-		Object obj = get(address, def);
-		if (obj instanceof Number) {
-			return ((Number) obj).intValue();
-		} else {
-			throw new LoadingException(String.format("'%s' must be an integer.", address));
-		}
+		return parsed(address, "int", def, () -> {
+			Object obj = get(address, def);
+			if (obj instanceof Number) {
+				return ((Number) obj).intValue();
+			} else {
+				throw new LoadingException(String.format("'%s' must be an integer.", address));
+			}
+		});
 	}
 	
 	public int loadInt(String address) throws LoadingException {
@@ -142,12 +198,14 @@ public class ValueLoader {
 	}
 	
 	public boolean loadBoolean(String address, Boolean def) throws LoadingException {
-		Object obj = get(address, def);
-		if (obj instanceof Boolean) {
-			return (Boolean) obj;
-		} else {
-			throw new LoadingException(String.format("'%s' must be either `true` or `false`.", address));
-		}
+		return parsed(address, "boolean", def, () -> {
+			Object obj = get(address, def);
+			if (obj instanceof Boolean) {
+				return (Boolean) obj;
+			} else {
+				throw new LoadingException(String.format("'%s' must be either `true` or `false`.", address));
+			}
+		});
 	}
 	
 	public boolean loadBoolean(String address) throws LoadingException {
@@ -155,19 +213,22 @@ public class ValueLoader {
 	}
 	
 	public Location loadLocation(String address, Location def) throws LoadingException {
-		Object obj = get(address, def);
-		if (obj instanceof Location) {
-			return (Location) obj;
-		} else if (obj instanceof String) {
-			try {
-				return Utils.parseLocation((String) obj);
-			} catch (LoadingException e) {
-				throw (LoadingException) new LoadingException(String.format("Error in '%s' location.", address))
-						.initCause(e);
+		// locations are mutable, so everyone gets a copy
+		return parsed(address, "location", def, () -> {
+			Object obj = get(address, def);
+			if (obj instanceof Location) {
+				return (Location) obj;
+			} else if (obj instanceof String) {
+				try {
+					return Utils.parseLocation((String) obj);
+				} catch (LoadingException e) {
+					throw (LoadingException) new LoadingException(String.format("Error in '%s' location.", address))
+							.initCause(e);
+				}
+			} else {
+				throw new LoadingException(String.format("'%s' must be a location.", address));
 			}
-		} else {
-			throw new LoadingException(String.format("'%s' must be a location.", address));
-		}
+		}).clone();
 	}
 	
 	public Location loadLocation(String address) throws LoadingException {
@@ -176,20 +237,22 @@ public class ValueLoader {
 	
 	@SuppressWarnings("unchecked")
 	public <T extends Enum<T>> T loadEnum(String address, T def, Class<T> enumClass) throws LoadingException {
-		Object obj = get(address, def);
-		if (enumClass.isInstance(obj)) {
-			return (T) obj;
-		} else if (obj instanceof String) {
-			try {
-				return Enum.valueOf(enumClass, ((String) obj).toUpperCase().replace(' ', '_'));
-			} catch (IllegalArgumentException e) {
-				Exception detail = new LoadingException(String.format("%s '%s' does not exist.", enumClass.getSimpleName(), ((String) obj)));
-				Exception error  = new LoadingException(String.format("'%s' must be a valid type.", address));
-				throw (LoadingException) error.initCause(detail);
+		return parsed(address, enumClass.getName(), def, () -> {
+			Object obj = get(address, def);
+			if (enumClass.isInstance(obj)) {
+				return (T) obj;
+			} else if (obj instanceof String) {
+				try {
+					return Enum.valueOf(enumClass, ((String) obj).toUpperCase().replace(' ', '_'));
+				} catch (IllegalArgumentException e) {
+					Exception detail = new LoadingException(String.format("%s '%s' does not exist.", enumClass.getSimpleName(), ((String) obj)));
+					Exception error  = new LoadingException(String.format("'%s' must be a valid type.", address));
+					throw (LoadingException) error.initCause(detail);
+				}
+			} else {
+				throw new LoadingException(String.format("'%s' must be a valid type.", address, enumClass.getSimpleName()));
 			}
-		} else {
-			throw new LoadingException(String.format("'%s' must be a valid type.", address, enumClass.getSimpleName()));
-		}
+		});
 	}
 	
 	public <T extends Enum<T>> T loadEnum(String address, Class<T> enumClass) throws LoadingException {
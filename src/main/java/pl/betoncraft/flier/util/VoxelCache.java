@@ -0,0 +1,509 @@
+/**
+ * Copyright (c) 2017 Jakub Sapalski
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ */
+package pl.betoncraft.flier.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+import pl.betoncraft.flier.api.Flier;
+import pl.betoncraft.flier.api.core.BlockCache;
+
+/**
+ * Keeps a bitmap of solid and non-air blocks in the area of a Game, together
+ * with a heightmap of its columns, so ray and altitude queries don't need to
+ * access the world. Chunks are read from snapshots in an asynchronous task and
+ * kept up to date with block change events. Blocks in chunks which are not
+ * cached (yet) are read directly from the world.
+ *
+ * @author Jakub Sapalski
+ */
+public class VoxelCache implements Listener, BlockCache {
+
+	private static final boolean[] SOLID;
+	private static final boolean[] AIR;
+
+	static {
+		int max = 0;
+		for (Material material : Material.values()) {
+			max = Math.max(max, id(material));
+		}
+		SOLID = new boolean[max + 1];
+		AIR = new boolean[max + 1];
+		for (Material material : Material.values()) {
+			SOLID[id(material)] = material.isSolid();
+			AIR[id(material)] = material == Material.AIR;
+		}
+	}
+
+	private final World world;
+	private final int height;
+	private final int minCX;
+	private final int minCZ;
+	private final int sizeCX;
+	private final int sizeCZ;
+
+	// per chunk data, null if the chunk is not cached
+	private final long[][] solid;
+	private final long[][] filled;
+	private final short[][] top;
+	private final int[] generation;
+	private final boolean[] pending;
+
+	private int[] dirty = new int[48];
+	private int dirtyCount = 0;
+	private boolean flushing = false;
+	private boolean stopped = false;
+
+	/**
+	 * Creates an empty cache of the square area. It does not read anything
+	 * until it's started, queries read the world directly until then.
+	 * 
+	 * @param center
+	 *            center of the area
+	 * @param radius
+	 *            distance from the center to the edge of the area
+	 */
+	public VoxelCache(Location center, int radius) {
+		world = center.getWorld();
+		height = world.getMaxHeight();
+		minCX = (center.getBlockX() - radius) >> 4;
+		minCZ = (center.getBlockZ() - radius) >> 4;
+		sizeCX = ((center.getBlockX() + radius) >> 4) - minCX + 1;
+		sizeCZ = ((center.getBlockZ() + radius) >> 4) - minCZ + 1;
+		int chunks = sizeCX * sizeCZ;
+		solid = new long[chunks][];
+		filled = new long[chunks][];
+		top = new short[chunks][];
+		generation = new int[chunks];
+		pending = new boolean[chunks];
+	}
+
+	/**
+	 * Starts updating the cache and reads the loaded chunks.
+	 */
+	public void start() {
+		if (stopped) {
+			return;
+		}
+		Bukkit.getPluginManager().registerEvents(this, Flier.getInstance());
+		for (int cx = minCX; cx < minCX + sizeCX; cx++) {
+			for (int cz = minCZ; cz < minCZ + sizeCZ; cz++) {
+				if (world.isChunkLoaded(cx, cz)) {
+					read(world.getChunkAt(cx, cz));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stops updating the cache and releases its data.
+	 */
+	public void stop() {
+		stopped = true;
+		HandlerList.unregisterAll(this);
+		Arrays.fill(solid, null);
+		Arrays.fill(filled, null);
+		Arrays.fill(top, null);
+	}
+
+	@Override
+	public boolean isSolid(int x, int y, int z) {
+		if (y < 0 || y >= height) {
+			return false;
+		}
+		int chunk = chunk(x >> 4, z >> 4);
+		if (chunk < 0 || solid[chunk] == null) {
+			// don't load chunks just to check a single block
+			if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+				return true;
+			}
+			return world.getBlockAt(x, y, z).getType().isSolid();
+		}
+		return get(solid[chunk], x, y, z);
+	}
+
+	@Override
+	public boolean isAir(int x, int y, int z) {
+		if (y < 0 || y >= height) {
+			return true;
+		}
+		int chunk = chunk(x >> 4, z >> 4);
+		if (chunk < 0 || filled[chunk] == null) {
+			if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+				return false;
+			}
+			return world.getBlockAt(x, y, z).getType() == Material.AIR;
+		}
+		return !get(filled[chunk], x, y, z);
+	}
+
+	@Override
+	public int getAltitude(Location loc, int max) {
+		return getAltitude(loc.getX(), loc.getY(), loc.getZ(), max);
+	}
+
+	@Override
+	public int getAltitude(double x, double y, double z, int max) {
+		int bx = floor(x), by = floor(y), bz = floor(z);
+		if (!isAir(bx, by, bz)) {
+			return 0;
+		}
+		int chunk = chunk(bx >> 4, bz >> 4);
+		if (chunk >= 0 && top[chunk] != null) {
+			// the whole column below is air down to the highest block
+			int highest = top[chunk][((bz & 15) << 4) | (bx & 15)];
+			if (highest < by) {
+				return highest < 0 ? max : Math.min(max, by - 1 - highest);
+			}
+		}
+		int altitude = 0;
+		while (altitude < max && isAir(bx, by - altitude - 1, bz)) {
+			altitude++;
+		}
+		return altitude;
+	}
+
+	@Override
+	public double raycast(double sx, double sy, double sz, double dirX, double dirY, double dirZ, double max) {
+		int bx = floor(sx), by = floor(sy), bz = floor(sz);
+		int stepX = dirX > 0 ? 1 : -1, stepY = dirY > 0 ? 1 : -1, stepZ = dirZ > 0 ? 1 : -1;
+		double deltaX = dirX == 0 ? Double.MAX_VALUE : Math.abs(1 / dirX);
+		double deltaY = dirY == 0 ? Double.MAX_VALUE : Math.abs(1 / dirY);
+		double deltaZ = dirZ == 0 ? Double.MAX_VALUE : Math.abs(1 / dirZ);
+		double nextX = dirX == 0 ? Double.MAX_VALUE : (dirX > 0 ? bx + 1 - sx : sx - bx) * deltaX;
+		double nextY = dirY == 0 ? Double.MAX_VALUE : (dirY > 0 ? by + 1 - sy : sy - by) * deltaY;
+		double nextZ = dirZ == 0 ? Double.MAX_VALUE : (dirZ > 0 ? bz + 1 - sz : sz - bz) * deltaZ;
+		double t = 0;
+		while (t <= max) {
+			if (isSolid(bx, by, bz)) {
+				return t;
+			}
+			if (nextX < nextY && nextX < nextZ) {
+				bx += stepX;
+				t = nextX;
+				nextX += deltaX;
+			} else if (nextY < nextZ) {
+				by += stepY;
+				t = nextY;
+				nextY += deltaY;
+			} else {
+				bz += stepZ;
+				t = nextZ;
+				nextZ += deltaZ;
+			}
+		}
+		return max;
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onChunkLoad(ChunkLoadEvent event) {
+		if (event.getWorld().equals(world)) {
+			read(event.getChunk());
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onChunkUnload(ChunkUnloadEvent event) {
+		Chunk chunk = event.getChunk();
+		int index = chunk(chunk.getX(), chunk.getZ());
+		if (index >= 0 && event.getWorld().equals(world)) {
+			generation[index]++;
+			pending[index] = false;
+			solid[index] = null;
+			filled[index] = null;
+			top[index] = null;
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onPlace(BlockPlaceEvent event) {
+		markDirty(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onBreak(BlockBreakEvent event) {
+		markDirty(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onBurn(BlockBurnEvent event) {
+		markDirty(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onFade(BlockFadeEvent event) {
+		markDirty(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onForm(BlockFormEvent event) {
+		markDirty(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onGrow(BlockGrowEvent event) {
+		markDirty(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onDecay(LeavesDecayEvent event) {
+		markDirty(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onFlow(BlockFromToEvent event) {
+		markDirty(event.getToBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onEntityChange(EntityChangeBlockEvent event) {
+		markDirty(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onBlockExplode(BlockExplodeEvent event) {
+		markDirty(event.blockList());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onEntityExplode(EntityExplodeEvent event) {
+		markDirty(event.blockList());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onPistonExtend(BlockPistonExtendEvent event) {
+		markMoved(event.getBlock(), event.getDirection(), event.getBlocks());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onPistonRetract(BlockPistonRetractEvent event) {
+		markMoved(event.getBlock(), event.getDirection(), event.getBlocks());
+	}
+
+	/**
+	 * Marks the piston head and all blocks moved by the piston, together with
+	 * their neighbors along the moving direction.
+	 */
+	private void markMoved(Block piston, BlockFace face, Collection<Block> blocks) {
+		markDirty(piston.getRelative(face));
+		markDirty(piston.getRelative(face.getOppositeFace()));
+		for (Block block : blocks) {
+			markDirty(block);
+			markDirty(block.getRelative(face));
+			markDirty(block.getRelative(face.getOppositeFace()));
+		}
+	}
+
+	private void markDirty(Collection<Block> blocks) {
+		for (Block block : blocks) {
+			markDirty(block);
+		}
+	}
+
+	/**
+	 * Queues the block for reading on the next tick, when the change is
+	 * already applied to the world.
+	 */
+	private void markDirty(Block block) {
+		if (chunk(block.getX() >> 4, block.getZ() >> 4) < 0 || !block.getWorld().equals(world)) {
+			return;
+		}
+		if (dirtyCount + 3 > dirty.length) {
+			dirty = Arrays.copyOf(dirty, dirty.length * 2);
+		}
+		dirty[dirtyCount++] = block.getX();
+		dirty[dirtyCount++] = block.getY();
+		dirty[dirtyCount++] = block.getZ();
+		if (!flushing) {
+			flushing = true;
+			Bukkit.getScheduler().runTask(Flier.getInstance(), this::flush);
+		}
+	}
+
+	/**
+	 * Reads all dirty blocks from the world. Blocks in chunks which are still
+	 * being read stay in the queue, since their snapshot may be older.
+	 */
+	private void flush() {
+		flushing = false;
+		if (stopped) {
+			return;
+		}
+		int kept = 0;
+		for (int i = 0; i < dirtyCount; i += 3) {
+			int x = dirty[i], y = dirty[i + 1], z = dirty[i + 2];
+			int chunk = chunk(x >> 4, z >> 4);
+			if (pending[chunk]) {
+				dirty[kept++] = x;
+				dirty[kept++] = y;
+				dirty[kept++] = z;
+			} else if (solid[chunk] != null && y >= 0 && y < height) {
+				Material type = world.getBlockAt(x, y, z).getType();
+				set(chunk, x, y, z, type.isSolid(), type != Material.AIR);
+			}
+		}
+		dirtyCount = kept;
+	}
+
+	/**
+	 * Takes a snapshot of the chunk and reads it in an asynchronous task.
+	 */
+	private void read(Chunk chunk) {
+		int index = chunk(chunk.getX(), chunk.getZ());
+		if (index < 0 || stopped) {
+			return;
+		}
+		int gen = ++generation[index];
+		pending[index] = true;
+		ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
+		Bukkit.getScheduler().runTaskAsynchronously(Flier.getInstance(), () -> {
+			int columns = 256;
+			long[] chunkSolid = new long[columns * height / 64];
+			long[] chunkFilled = new long[columns * height / 64];
+			short[] chunkTop = new short[columns];
+			Arrays.fill(chunkTop, (short) -1);
+			for (int section = 0; section < height / 16; section++) {
+				if (snapshot.isSectionEmpty(section)) {
+					continue;
+				}
+				for (int y = section * 16; y < section * 16 + 16; y++) {
+					for (int z = 0; z < 16; z++) {
+						for (int x = 0; x < 16; x++) {
+							int id = id(snapshot, x, y, z);
+							if (id < 0 || id >= AIR.length || AIR[id]) {
+								continue;
+							}
+							int bit = bit(x, y, z);
+							chunkFilled[bit >> 6] |= 1L << bit;
+							if (SOLID[id]) {
+								chunkSolid[bit >> 6] |= 1L << bit;
+							}
+							chunkTop[(z << 4) | x] = (short) y;
+						}
+					}
+				}
+			}
+			// hand the data over to the main thread
+			Bukkit.getScheduler().runTask(Flier.getInstance(), () -> {
+				if (stopped || generation[index] != gen) {
+					return;
+				}
+				pending[index] = false;
+				solid[index] = chunkSolid;
+				filled[index] = chunkFilled;
+				top[index] = chunkTop;
+				flush();
+			});
+		});
+	}
+
+	private void set(int chunk, int x, int y, int z, boolean isSolid, boolean isFilled) {
+		int bit = bit(x & 15, y, z & 15);
+		long mask = 1L << bit;
+		if (isSolid) {
+			solid[chunk][bit >> 6] |= mask;
+		} else {
+			solid[chunk][bit >> 6] &= ~mask;
+		}
+		if (isFilled) {
+			filled[chunk][bit >> 6] |= mask;
+		} else {
+			filled[chunk][bit >> 6] &= ~mask;
+		}
+		// update the heightmap
+		short[] columns = top[chunk];
+		int column = ((z & 15) << 4) | (x & 15);
+		if (isFilled && y > columns[column]) {
+			columns[column] = (short) y;
+		} else if (!isFilled && y == columns[column]) {
+			int highest = y - 1;
+			while (highest >= 0 && !get(filled[chunk], x, highest, z)) {
+				highest--;
+			}
+			columns[column] = (short) highest;
+		}
+	}
+
+	private int chunk(int cx, int cz) {
+		cx -= minCX;
+		cz -= minCZ;
+		if (cx < 0 || cz < 0 || cx >= sizeCX || cz >= sizeCZ) {
+			return -1;
+		}
+		return cz * sizeCX + cx;
+	}
+
+	private static boolean get(long[] bits, int x, int y, int z) {
+		int bit = bit(x & 15, y, z & 15);
+		return (bits[bit >> 6] & (1L << bit)) != 0;
+	}
+
+	private static int bit(int x, int y, int z) {
+		return (y << 8) | (z << 4) | x;
+	}
+
+	private static int floor(double d) {
+		int i = (int) d;
+		return d < i ? i - 1 : i;
+	}
+
+	@SuppressWarnings("deprecation")
+	private static int id(Material material) {
+		return material.getId();
+	}
+
+	@SuppressWarnings("deprecation")
+	private static int id(ChunkSnapshot snapshot, int x, int y, int z) {
+		return snapshot.getBlockTypeId(x, y, z);
+	}
+
+}
@@ -29,6 +29,7 @@ import pl.betoncraft.flier.api.content.Wings;
 import pl.betoncraft.flier.api.core.LoadingException;
 import pl.betoncraft.flier.api.core.Modification;
 import pl.betoncraft.flier.core.DefaultItem;
+import pl.betoncraft.flier.util.ModificationManager;
 
 /**
  * Default Wings implementation.
@@ -40,6 +41,9 @@ public abstract class DefaultWings extends DefaultItem implements Wings {
 	private static final String REGENERATION = "regeneration";
 	private static final String MAX_HEALTH = "max_health";
 
+	private static final int REGENERATION_ID = ModificationManager.getPropertyId(REGENERATION);
+	private static final int MAX_HEALTH_ID = ModificationManager.getPropertyId(MAX_HEALTH);
+
 	protected final double maxHealth;
 	protected final double regeneration;
 
@@ -55,12 +59,12 @@ public abstract class DefaultWings extends DefaultItem implements Wings {
 
 	@Override
 	public double getMaxHealth() {
-		return modMan.modifyNumber(MAX_HEALTH, maxHealth);
+		return modMan.modifyNumber(MAX_HEALTH_ID, maxHealth);
 	}
 
 	@Override
 	public double getRegeneration() {
-		return modMan.modifyNumber(REGENERATION, regeneration);
+		return modMan.modifyNumber(REGENERATION_ID, regeneration);
 	}
 
 	@Override
@@ -29,7 +29,9 @@ import org.bukkit.util.Vector;
 import pl.betoncraft.flier.api.core.InGamePlayer;
 import pl.betoncraft.flier.api.core.Item;
 import pl.betoncraft.flier.api.core.LoadingException;
+import pl.betoncraft.flier.api.core.PlayerSnapshot;
 import pl.betoncraft.flier.util.ImmutableVector;
+import pl.betoncraft.flier.util.ModificationManager;
 
 /**
  * Simple wings with scalable lifting force and air resistance.
@@ -42,6 +44,10 @@ public class SimpleWings extends DefaultWings {
 	private static final String LIFTINGFORCE = "liftingforce";
 	private static final String AERODYNAMICS = "aerodynamics";
 
+	private static final int MAX_LIFT_ID = ModificationManager.getPropertyId(MAX_LIFT);
+	private static final int LIFTINGFORCE_ID = ModificationManager.getPropertyId(LIFTINGFORCE);
+	private static final int AERODYNAMICS_ID = ModificationManager.getPropertyId(AERODYNAMICS);
+
 	private final double aerodynamics;
 	private final double liftingForce;
 	private final double maxLift;
@@ -55,13 +61,14 @@ public class SimpleWings extends DefaultWings {
 	
 	@Override
 	public Vector applyFlightModifications(InGamePlayer data) {
-		ImmutableVector velocity = ImmutableVector.fromVector(data.getPlayer().getVelocity());
-		double lift = (modMan.modifyNumber(LIFTINGFORCE, liftingForce) * velocity.length() * velocity.length() * 0.5)
+		PlayerSnapshot snapshot = data.getSnapshot();
+		ImmutableVector velocity = new ImmutableVector(snapshot.getVelX(), snapshot.getVelY(), snapshot.getVelZ());
+		double lift = (modMan.modifyNumber(LIFTINGFORCE_ID, liftingForce) * velocity.length() * velocity.length() * 0.5)
 				- data.getWeight();
-		double maxLift = modMan.modifyNumber(MAX_LIFT, this.maxLift);
+		double maxLift = modMan.modifyNumber(MAX_LIFT_ID, this.maxLift);
 		lift = lift >= maxLift ? maxLift : lift;
 		velocity = velocity.add(new ImmutableVector(0, lift, 0));
-		double drag = velocity.length() * velocity.length() * 0.5 * modMan.modifyNumber(AERODYNAMICS, aerodynamics);
+		double drag = velocity.length() * velocity.length() * 0.5 * modMan.modifyNumber(AERODYNAMICS_ID, aerodynamics);
 		ImmutableVector airResistance = velocity.normalize().multiply(drag);
 		return velocity.add(airResistance).toVector();
 	}